@@ -4,10 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EntityScan(basePackages = "com.webblog.entity")
 @EnableJpaRepositories(basePackages = "com.webblog.repository")
+@EnableScheduling
 public class WebBlogApplication {
     public static void main(String[] args) {
         SpringApplication.run(WebBlogApplication.class, args);
@@ -1,12 +1,24 @@
 package com.webblog.controller;
 
+import com.webblog.dto.ActivitySeriesDto;
 import com.webblog.dto.AdminStatsDto;
+import com.webblog.dto.AuditStatsDto;
+import com.webblog.dto.CacheStatsDto;
+import com.webblog.dto.ConnectionPoolStatsDto;
+import com.webblog.service.ActivityRollups;
 import com.webblog.service.AdminService;
+import com.webblog.service.AuditLogWriter;
+import com.webblog.service.ConnectionPoolMetrics;
+import com.webblog.service.PostDetailCache;
+import com.webblog.service.PostSearchService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/api/admin")
 @CrossOrigin(origins = "http://localhost:5173")
@@ -14,10 +26,69 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Autowired
+    private ActivityRollups activityRollups;
+
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<AdminStatsDto> getStats() {
         return ResponseEntity.ok(adminService.getStats());
     }
+
+    @GetMapping("/cache/post-details")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatsDto> getPostDetailCacheStats() {
+        return ResponseEntity.ok(postDetailCache.getStats());
+    }
+
+    @GetMapping("/audit/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuditStatsDto> getAuditStats() {
+        return ResponseEntity.ok(auditLogWriter.getStats());
+    }
+
+    @GetMapping("/db/pool")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ConnectionPoolStatsDto> getConnectionPoolStats() {
+        return ResponseEntity.ok(connectionPoolMetrics.getStats());
+    }
+
+    /**
+     * Activity counts per MINUTE (last 24 hours only), HOUR or DAY over [from, to); defaults to the most
+     * recent 60 minutes, 24 hours or 30 days.
+     */
+    @GetMapping("/activity")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ActivitySeriesDto> getActivity(
+            @RequestParam(defaultValue = "HOUR") String resolution,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ActivityRollups.Resolution parsed;
+        try {
+            parsed = ActivityRollups.Resolution.valueOf(resolution.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("resolution must be MINUTE, HOUR or DAY");
+        }
+        return ResponseEntity.ok(activityRollups.getSeries(parsed, from, to));
+    }
+
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        postSearchService.rebuildIndex();
+        return ResponseEntity.noContent().build();
+    }
 }
 
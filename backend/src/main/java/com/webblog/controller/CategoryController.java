@@ -1,15 +1,19 @@
 package com.webblog.controller;
 
 import com.webblog.dto.CategoryDto;
+import com.webblog.dto.ResourceVersion;
 import com.webblog.service.CategoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -19,8 +23,20 @@ public class CategoryController {
     private CategoryService categoryService;
 
     @GetMapping
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<CategoryDto>> getAllCategories(WebRequest request) {
+        ResourceVersion version = categoryService.getCategoriesVersion();
+        if (request.checkNotModified(version.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(categoryService.getAllCategories());
+    }
+
+    /**
+     * Number of posts per category id, served from the in-memory category index.
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<Map<Long, Long>> getPostCountsByCategory() {
+        return ResponseEntity.ok(categoryService.getPostCountsByCategory());
     }
 
     @GetMapping("/{id}")
@@ -1,13 +1,18 @@
 package com.webblog.controller;
 
 import com.webblog.dto.CommentDto;
+import com.webblog.dto.CommentPageDto;
+import com.webblog.dto.FeedCursor;
+import com.webblog.dto.ResourceVersion;
 import com.webblog.service.CommentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,8 +24,35 @@ public class CommentController {
     private CommentService commentService;
 
     @GetMapping("/post/{postId}")
-    public ResponseEntity<List<CommentDto>> getCommentsByPostId(@PathVariable Long postId) {
-        return ResponseEntity.ok(commentService.getCommentsByPostId(postId));
+    public ResponseEntity<List<CommentDto>> getCommentsByPostId(@PathVariable Long postId, WebRequest request) {
+        ResourceVersion version = commentService.getCommentsVersion(postId);
+        if (request.checkNotModified(version.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(commentService.getCommentsByPostId(postId));
+    }
+
+    /**
+     * Keyset-paginated top-level comments of a post, oldest first; nextCursor is null on the last page.
+     */
+    @GetMapping("/post/{postId}/page")
+    public ResponseEntity<CommentPageDto> getCommentPage(@PathVariable Long postId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "" + CommentService.DEFAULT_COMMENT_PAGE_SIZE) int size) {
+        FeedCursor after = cursor != null && !cursor.isBlank() ? FeedCursor.decode(cursor) : null;
+        return ResponseEntity.ok(commentService.getCommentPage(postId, after, size));
+    }
+
+    /**
+     * Keyset-paginated comment threads of a post: {"comments": [{..., "replies": [...]}], "nextCursor": "..."},
+     * oldest first; nextCursor is null on the last page. 404 if the post does not exist.
+     */
+    @GetMapping("/post/{postId}/tree")
+    public ResponseEntity<CommentPageDto> getCommentTree(@PathVariable Long postId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "" + CommentService.DEFAULT_COMMENT_PAGE_SIZE) int size) {
+        FeedCursor after = cursor != null && !cursor.isBlank() ? FeedCursor.decode(cursor) : null;
+        return ResponseEntity.ok(commentService.getCommentTree(postId, after, size));
     }
 
     @PostMapping("/post/{postId}")
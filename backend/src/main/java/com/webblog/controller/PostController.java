@@ -1,14 +1,29 @@
 package com.webblog.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webblog.dto.FeedCursor;
 import com.webblog.dto.PostDto;
+import com.webblog.dto.PostFeedDto;
+import com.webblog.dto.PostSearchResultDto;
+import com.webblog.dto.PostSummaryDto;
+import com.webblog.dto.ResourceVersion;
+import com.webblog.service.PostDetailCache;
+import com.webblog.service.PostSearchService;
 import com.webblog.service.PostService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -18,14 +33,73 @@ public class PostController {
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Every post, newest first, as summaries; kept for older clients. The array is streamed a feed page at
+     * a time instead of being built in memory. Use GET /api/posts/feed to page.
+     */
+    @Deprecated
     @GetMapping
-    public ResponseEntity<List<PostDto>> getAllPosts() {
-        return ResponseEntity.ok(postService.getAllPosts());
+    public ResponseEntity<StreamingResponseBody> getAllPosts() {
+        StreamingResponseBody body = out -> {
+            JsonGenerator json = objectMapper.createGenerator(out);
+            json.writeStartArray();
+            postService.forEachPostPage(posts -> {
+                try {
+                    for (PostSummaryDto post : posts) {
+                        json.writeObject(post);
+                    }
+                    json.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeEndArray();
+            json.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Keyset-paginated feed of post summaries; nextCursor is null on the last page. categoryIds restricts
+     * the feed to posts in any (match=any) or all (match=all) of the given categories.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<PostFeedDto> getFeed(@RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "" + PostService.DEFAULT_FEED_PAGE_SIZE) int size,
+                                               @RequestParam(required = false) List<Long> categoryIds,
+                                               @RequestParam(defaultValue = "any") String match) {
+        FeedCursor after = cursor != null && !cursor.isBlank() ? FeedCursor.decode(cursor) : null;
+        return ResponseEntity.ok(categoryIds == null || categoryIds.isEmpty()
+                ? postService.getFeed(after, size)
+                : postService.getCategoryFeed(categoryIds, "all".equalsIgnoreCase(match), after, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<PostSearchResultDto> searchPosts(@RequestParam("q") String query,
+                                                           @RequestParam(defaultValue = "0") int page,
+                                                           @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(postSearchService.search(query, page, size));
     }
 
+    /**
+     * Answers If-None-Match / If-Modified-Since with 304 from the validators cached with the post, so a
+     * revalidation of a cached post does not reach the database. Responses are marked no-cache so browsers
+     * keep them but revalidate on every visit.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<PostDto> getPostById(@PathVariable Long id) {
-        return ResponseEntity.ok(postService.getPostById(id));
+    public ResponseEntity<PostDto> getPostById(@PathVariable Long id, WebRequest request) {
+        PostDetailCache.CachedPost post = postService.getPostDetail(id);
+        ResourceVersion version = post.getVersion();
+        if (request.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(post.getPost());
     }
 
     @PostMapping
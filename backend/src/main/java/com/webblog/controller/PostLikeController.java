@@ -1,5 +1,6 @@
 package com.webblog.controller;
 
+import com.webblog.dto.PostInteractionDto;
 import com.webblog.service.PostLikeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -7,6 +8,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -29,6 +31,25 @@ public class PostLikeController {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/{postId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> like(@PathVariable Long postId) {
+        postLikeService.like(postId);
+        return ResponseEntity.ok(likeState(postId, true));
+    }
+
+    @DeleteMapping("/{postId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> unlike(@PathVariable Long postId) {
+        postLikeService.unlike(postId);
+        return ResponseEntity.ok(likeState(postId, false));
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<PostInteractionDto>> getInteractions(@RequestParam List<Long> postIds) {
+        return ResponseEntity.ok(postLikeService.getInteractions(postIds));
+    }
+
     @GetMapping("/{postId}/count")
     public ResponseEntity<Map<String, Long>> getLikeCount(@PathVariable Long postId) {
         long count = postLikeService.getLikeCount(postId);
@@ -45,5 +66,12 @@ public class PostLikeController {
         response.put("isLiked", isLiked);
         return ResponseEntity.ok(response);
     }
+
+    private Map<String, Object> likeState(Long postId, boolean liked) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("liked", liked);
+        response.put("likeCount", postLikeService.getLikeCount(postId));
+        return response;
+    }
 }
 
@@ -29,6 +29,24 @@ public class SavedPostController {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/{postId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> save(@PathVariable Long postId) {
+        savedPostService.save(postId);
+        Map<String, Object> response = new HashMap<>();
+        response.put("saved", true);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{postId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> unsave(@PathVariable Long postId) {
+        savedPostService.unsave(postId);
+        Map<String, Object> response = new HashMap<>();
+        response.put("saved", false);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/my-saved")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<List<SavedPostDto>> getMySavedPosts() {
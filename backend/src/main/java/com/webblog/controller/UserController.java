@@ -1,6 +1,12 @@
 package com.webblog.controller;
 
+import com.webblog.dto.FeedCursor;
+import com.webblog.dto.UserDeletionStatusDto;
 import com.webblog.dto.UserDto;
+import com.webblog.dto.UserProfileDto;
+import com.webblog.security.CurrentUserResolver;
+import com.webblog.service.UserDeletionService;
+import com.webblog.service.UserProfileService;
 import com.webblog.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,6 +25,12 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
     @GetMapping("/test")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, String>> testAdminAccess() {
@@ -66,6 +78,27 @@ public class UserController {
         }
     }
 
+    /**
+     * The current user's profile: totals, recent activity and a keyset page of their posts, newest first.
+     */
+    @GetMapping("/me/profile")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<UserProfileDto> getMyProfile(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "" + UserProfileService.DEFAULT_POSTS_PAGE_SIZE) int size) {
+        FeedCursor after = cursor != null && !cursor.isBlank() ? FeedCursor.decode(cursor) : null;
+        Long userId = currentUserResolver.getCurrentPrincipal().getId();
+        return ResponseEntity.ok(userProfileService.getProfile(userId, after, size));
+    }
+
+    @GetMapping("/{id}/profile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserProfileDto> getProfile(@PathVariable Long id,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "" + UserProfileService.DEFAULT_POSTS_PAGE_SIZE) int size) {
+        FeedCursor after = cursor != null && !cursor.isBlank() ? FeedCursor.decode(cursor) : null;
+        return ResponseEntity.ok(userProfileService.getProfile(id, after, size));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
@@ -74,11 +107,21 @@ public class UserController {
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        userService.deleteUser(id);
+    public ResponseEntity<UserDeletionStatusDto> deleteUser(@PathVariable Long id) {
+        UserDeletionStatusDto status = userService.deleteUser(id);
+        if (UserDeletionService.RUNNING.equals(status.getState())) {
+            // Large account: deletion continues in the background, poll /deletion for progress
+            return ResponseEntity.accepted().body(status);
+        }
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/{id}/deletion")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserDeletionStatusDto> getDeletionStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(userService.getDeletionStatus(id));
+    }
+
     @PutMapping("/{id}/toggle-block")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<UserDto> toggleBlockUser(@PathVariable Long id) {
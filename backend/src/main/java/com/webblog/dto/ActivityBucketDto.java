@@ -0,0 +1,71 @@
+package com.webblog.dto;
+
+import java.time.LocalDateTime;
+
+public class ActivityBucketDto {
+    private LocalDateTime start;
+    private long posts;
+    private long comments;
+    private long likes;
+    private long registrations;
+    private long reports;
+
+    public ActivityBucketDto() {}
+
+    public ActivityBucketDto(LocalDateTime start, long posts, long comments, long likes, long registrations, long reports) {
+        this.start = start;
+        this.posts = posts;
+        this.comments = comments;
+        this.likes = likes;
+        this.registrations = registrations;
+        this.reports = reports;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    public long getPosts() {
+        return posts;
+    }
+
+    public void setPosts(long posts) {
+        this.posts = posts;
+    }
+
+    public long getComments() {
+        return comments;
+    }
+
+    public void setComments(long comments) {
+        this.comments = comments;
+    }
+
+    public long getLikes() {
+        return likes;
+    }
+
+    public void setLikes(long likes) {
+        this.likes = likes;
+    }
+
+    public long getRegistrations() {
+        return registrations;
+    }
+
+    public void setRegistrations(long registrations) {
+        this.registrations = registrations;
+    }
+
+    public long getReports() {
+        return reports;
+    }
+
+    public void setReports(long reports) {
+        this.reports = reports;
+    }
+}
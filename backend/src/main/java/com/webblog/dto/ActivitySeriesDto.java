@@ -0,0 +1,52 @@
+package com.webblog.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ActivitySeriesDto {
+    private String resolution;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<ActivityBucketDto> buckets;
+
+    public ActivitySeriesDto() {}
+
+    public ActivitySeriesDto(String resolution, LocalDateTime from, LocalDateTime to, List<ActivityBucketDto> buckets) {
+        this.resolution = resolution;
+        this.from = from;
+        this.to = to;
+        this.buckets = buckets;
+    }
+
+    public String getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(String resolution) {
+        this.resolution = resolution;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public List<ActivityBucketDto> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<ActivityBucketDto> buckets) {
+        this.buckets = buckets;
+    }
+}
@@ -0,0 +1,69 @@
+package com.webblog.dto;
+
+public class AuditStatsDto {
+    private int queued;
+    private int queueCapacity;
+    private long enqueued;
+    private long written;
+    private long dropped;
+    private long failedBatches;
+
+    public AuditStatsDto() {}
+
+    public AuditStatsDto(int queued, int queueCapacity, long enqueued, long written, long dropped, long failedBatches) {
+        this.queued = queued;
+        this.queueCapacity = queueCapacity;
+        this.enqueued = enqueued;
+        this.written = written;
+        this.dropped = dropped;
+        this.failedBatches = failedBatches;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getEnqueued() {
+        return enqueued;
+    }
+
+    public void setEnqueued(long enqueued) {
+        this.enqueued = enqueued;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public void setWritten(long written) {
+        this.written = written;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+
+    public long getFailedBatches() {
+        return failedBatches;
+    }
+
+    public void setFailedBatches(long failedBatches) {
+        this.failedBatches = failedBatches;
+    }
+}
@@ -0,0 +1,85 @@
+package com.webblog.dto;
+
+public class CacheStatsDto {
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    private long coalescedLoads;
+    private long evictions;
+    private long rejections;
+
+    public CacheStatsDto() {}
+
+    public CacheStatsDto(int size, int maxSize, long hits, long misses, long coalescedLoads, long evictions,
+                         long rejections) {
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.coalescedLoads = coalescedLoads;
+        this.evictions = evictions;
+        this.rejections = rejections;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses + coalescedLoads;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getCoalescedLoads() {
+        return coalescedLoads;
+    }
+
+    public void setCoalescedLoads(long coalescedLoads) {
+        this.coalescedLoads = coalescedLoads;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getRejections() {
+        return rejections;
+    }
+
+    public void setRejections(long rejections) {
+        this.rejections = rejections;
+    }
+}
@@ -1,6 +1,9 @@
 package com.webblog.dto;
 
+import com.webblog.entity.Role;
+
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class CommentDto {
     private Long id;
@@ -9,9 +12,24 @@ public class CommentDto {
     private Long postId;
     private LocalDateTime createdAt;
     private Long authorId;
+    // Only filled in by the comment tree endpoint
+    private List<CommentReplyDto> replies;
 
     public CommentDto() {}
 
+    /**
+     * Flat constructor for JPQL constructor expressions.
+     */
+    public CommentDto(Long id, String content, Long postId, LocalDateTime createdAt, Long authorId,
+                      String authorName, String authorEmail, Role authorRole, Boolean authorEnabled, Boolean authorBlocked) {
+        this.id = id;
+        this.content = content;
+        this.postId = postId;
+        this.createdAt = createdAt;
+        this.authorId = authorId;
+        this.author = new UserDto(authorId, authorName, authorEmail, authorRole, authorEnabled, authorBlocked);
+    }
+
     public Long getId() {
         return id;
     }
@@ -59,5 +77,12 @@ public class CommentDto {
     public void setAuthorId(Long authorId) {
         this.authorId = authorId;
     }
-}
 
+    public List<CommentReplyDto> getReplies() {
+        return replies;
+    }
+
+    public void setReplies(List<CommentReplyDto> replies) {
+        this.replies = replies;
+    }
+}
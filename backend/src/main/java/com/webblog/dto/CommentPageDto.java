@@ -0,0 +1,31 @@
+package com.webblog.dto;
+
+import java.util.List;
+
+public class CommentPageDto {
+    private List<CommentDto> comments;
+    private String nextCursor;
+
+    public CommentPageDto() {}
+
+    public CommentPageDto(List<CommentDto> comments, String nextCursor) {
+        this.comments = comments;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<CommentDto> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<CommentDto> comments) {
+        this.comments = comments;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,5 +1,7 @@
 package com.webblog.dto;
 
+import com.webblog.entity.Role;
+
 import java.time.LocalDateTime;
 
 public class CommentReplyDto {
@@ -12,6 +14,20 @@ public class CommentReplyDto {
 
     public CommentReplyDto() {}
 
+    /**
+     * Flat constructor for JPQL constructor expressions.
+     */
+    public CommentReplyDto(Long id, Long parentCommentId, String content, LocalDateTime createdAt, Long authorId,
+                           String authorName, String authorEmail, Role authorRole, Boolean authorEnabled,
+                           Boolean authorBlocked) {
+        this.id = id;
+        this.parentCommentId = parentCommentId;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.authorId = authorId;
+        this.author = new UserDto(authorId, authorName, authorEmail, authorRole, authorEnabled, authorBlocked);
+    }
+
     public Long getId() {
         return id;
     }
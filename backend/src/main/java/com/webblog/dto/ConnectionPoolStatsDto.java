@@ -0,0 +1,152 @@
+package com.webblog.dto;
+
+import java.util.Map;
+
+public class ConnectionPoolStatsDto {
+    private String poolName;
+    private int active;
+    private int idle;
+    private int total;
+    private int pending;
+    private int maxPoolSize;
+    private int minIdle;
+    private long connectionsCreated;
+    private long acquireCount;
+    private long acquireTimeouts;
+    private long acquireP50Ms;
+    private long acquireP99Ms;
+    private Map<String, Long> acquireTimeHistogram;
+    private long holdP99Ms;
+    private Map<String, Long> holdTimeHistogram;
+    private long longHolds;
+
+    public ConnectionPoolStatsDto() {}
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public void setPoolName(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public void setActive(int active) {
+        this.active = active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public void setIdle(int idle) {
+        this.idle = idle;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public void setPending(int pending) {
+        this.pending = pending;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public void setMinIdle(int minIdle) {
+        this.minIdle = minIdle;
+    }
+
+    public long getConnectionsCreated() {
+        return connectionsCreated;
+    }
+
+    public void setConnectionsCreated(long connectionsCreated) {
+        this.connectionsCreated = connectionsCreated;
+    }
+
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    public void setAcquireCount(long acquireCount) {
+        this.acquireCount = acquireCount;
+    }
+
+    public long getAcquireTimeouts() {
+        return acquireTimeouts;
+    }
+
+    public void setAcquireTimeouts(long acquireTimeouts) {
+        this.acquireTimeouts = acquireTimeouts;
+    }
+
+    public long getAcquireP50Ms() {
+        return acquireP50Ms;
+    }
+
+    public void setAcquireP50Ms(long acquireP50Ms) {
+        this.acquireP50Ms = acquireP50Ms;
+    }
+
+    public long getAcquireP99Ms() {
+        return acquireP99Ms;
+    }
+
+    public void setAcquireP99Ms(long acquireP99Ms) {
+        this.acquireP99Ms = acquireP99Ms;
+    }
+
+    public Map<String, Long> getAcquireTimeHistogram() {
+        return acquireTimeHistogram;
+    }
+
+    public void setAcquireTimeHistogram(Map<String, Long> acquireTimeHistogram) {
+        this.acquireTimeHistogram = acquireTimeHistogram;
+    }
+
+    public long getHoldP99Ms() {
+        return holdP99Ms;
+    }
+
+    public void setHoldP99Ms(long holdP99Ms) {
+        this.holdP99Ms = holdP99Ms;
+    }
+
+    public Map<String, Long> getHoldTimeHistogram() {
+        return holdTimeHistogram;
+    }
+
+    public void setHoldTimeHistogram(Map<String, Long> holdTimeHistogram) {
+        this.holdTimeHistogram = holdTimeHistogram;
+    }
+
+    public long getLongHolds() {
+        return longHolds;
+    }
+
+    public void setLongHolds(long longHolds) {
+        this.longHolds = longHolds;
+    }
+}
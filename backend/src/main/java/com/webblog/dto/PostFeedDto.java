@@ -0,0 +1,31 @@
+package com.webblog.dto;
+
+import java.util.List;
+
+public class PostFeedDto {
+    private List<PostSummaryDto> posts;
+    private String nextCursor;
+
+    public PostFeedDto() {}
+
+    public PostFeedDto(List<PostSummaryDto> posts, String nextCursor) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<PostSummaryDto> getPosts() {
+        return posts;
+    }
+
+    public void setPosts(List<PostSummaryDto> posts) {
+        this.posts = posts;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
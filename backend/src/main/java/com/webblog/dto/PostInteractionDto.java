@@ -0,0 +1,49 @@
+package com.webblog.dto;
+
+public class PostInteractionDto {
+    private Long postId;
+    private long likeCount;
+    private boolean liked;
+    private boolean saved;
+
+    public PostInteractionDto() {}
+
+    public PostInteractionDto(Long postId, long likeCount, boolean liked, boolean saved) {
+        this.postId = postId;
+        this.likeCount = likeCount;
+        this.liked = liked;
+        this.saved = saved;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public long getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(long likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public boolean isLiked() {
+        return liked;
+    }
+
+    public void setLiked(boolean liked) {
+        this.liked = liked;
+    }
+
+    public boolean isSaved() {
+        return saved;
+    }
+
+    public void setSaved(boolean saved) {
+        this.saved = saved;
+    }
+}
@@ -0,0 +1,62 @@
+package com.webblog.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PostSearchResultDto {
+    private String query;
+    private long total;
+    private int page;
+    private int size;
+    private List<PostSearchHitDto> hits = new ArrayList<>();
+
+    public PostSearchResultDto() {}
+
+    public PostSearchResultDto(String query, long total, int page, int size, List<PostSearchHitDto> hits) {
+        this.query = query;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.hits = hits;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public List<PostSearchHitDto> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<PostSearchHitDto> hits) {
+        this.hits = hits;
+    }
+}
@@ -0,0 +1,123 @@
+package com.webblog.dto;
+
+import com.webblog.entity.Role;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * List representation of a post: an excerpt in place of the full content, which is only served by
+ * GET /api/posts/{id}.
+ */
+public class PostSummaryDto {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private Integer readingTimeMinutes;
+    private UserDto author;
+    private Long authorId;
+    private LocalDateTime createdAt;
+    private List<CategoryDto> categories = new ArrayList<>();
+    private long likeCount;
+    private long commentCount;
+
+    public PostSummaryDto() {}
+
+    /**
+     * Flat constructor for JPQL constructor expressions; categories are attached separately.
+     */
+    public PostSummaryDto(Long id, String title, String excerpt, Integer readingTimeMinutes, LocalDateTime createdAt,
+                          long likeCount, long commentCount, Long authorId, String authorName, String authorEmail, Role authorRole,
+                          Boolean authorEnabled, Boolean authorBlocked) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.readingTimeMinutes = readingTimeMinutes;
+        this.createdAt = createdAt;
+        this.likeCount = likeCount;
+        this.commentCount = commentCount;
+        this.authorId = authorId;
+        this.author = new UserDto(authorId, authorName, authorEmail, authorRole, authorEnabled, authorBlocked);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public Integer getReadingTimeMinutes() {
+        return readingTimeMinutes;
+    }
+
+    public void setReadingTimeMinutes(Integer readingTimeMinutes) {
+        this.readingTimeMinutes = readingTimeMinutes;
+    }
+
+    public UserDto getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(UserDto author) {
+        this.author = author;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public List<CategoryDto> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryDto> categories) {
+        this.categories = categories;
+    }
+
+    public long getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(long likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
+    }
+}
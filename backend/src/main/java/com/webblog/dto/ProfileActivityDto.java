@@ -0,0 +1,51 @@
+package com.webblog.dto;
+
+import java.time.LocalDateTime;
+
+public class ProfileActivityDto {
+    private String type;
+    private Long postId;
+    private String postTitle;
+    private LocalDateTime createdAt;
+
+    public ProfileActivityDto() {}
+
+    public ProfileActivityDto(String type, Long postId, String postTitle, LocalDateTime createdAt) {
+        this.type = type;
+        this.postId = postId;
+        this.postTitle = postTitle;
+        this.createdAt = createdAt;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public String getPostTitle() {
+        return postTitle;
+    }
+
+    public void setPostTitle(String postTitle) {
+        this.postTitle = postTitle;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
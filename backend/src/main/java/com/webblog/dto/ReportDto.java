@@ -1,6 +1,7 @@
 package com.webblog.dto;
 
 import com.webblog.entity.ReportStatus;
+import com.webblog.entity.Role;
 import java.time.LocalDateTime;
 
 public class ReportDto {
@@ -15,6 +16,22 @@ public class ReportDto {
 
     public ReportDto() {}
 
+    /**
+     * Flat constructor for JPQL constructor expressions.
+     */
+    public ReportDto(Long id, String reason, ReportStatus status, LocalDateTime createdAt, Long postId, Long commentId,
+                     Long reporterId, String reporterName, String reporterEmail, Role reporterRole,
+                     Boolean reporterEnabled, Boolean reporterBlocked) {
+        this.id = id;
+        this.reason = reason;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.postId = postId;
+        this.commentId = commentId;
+        this.reporterId = reporterId;
+        this.reporter = new UserDto(reporterId, reporterName, reporterEmail, reporterRole, reporterEnabled, reporterBlocked);
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,23 @@
+package com.webblog.dto;
+
+/**
+ * Validators for a conditional GET: an entity tag and, where one is meaningful, a last-modified time in
+ * epoch milliseconds (-1 when there is none).
+ */
+public class ResourceVersion {
+    private final String etag;
+    private final long lastModified;
+
+    public ResourceVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -5,7 +5,7 @@ import java.time.LocalDateTime;
 public class SavedPostDto {
     private Long id;
     private Long userId;
-    private PostDto post;
+    private PostSummaryDto post;
     private LocalDateTime savedAt;
 
     public SavedPostDto() {}
@@ -26,11 +26,11 @@ public class SavedPostDto {
         this.userId = userId;
     }
 
-    public PostDto getPost() {
+    public PostSummaryDto getPost() {
         return post;
     }
 
-    public void setPost(PostDto post) {
+    public void setPost(PostSummaryDto post) {
         this.post = post;
     }
 
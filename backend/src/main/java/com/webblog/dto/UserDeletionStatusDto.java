@@ -0,0 +1,82 @@
+package com.webblog.dto;
+
+import java.time.LocalDateTime;
+
+public class UserDeletionStatusDto {
+    private Long userId;
+    private String state;
+    private long totalPosts;
+    private long deletedPosts;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public UserDeletionStatusDto() {}
+
+    public UserDeletionStatusDto(Long userId, String state, long totalPosts, long deletedPosts,
+                                 LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+        this.userId = userId;
+        this.state = state;
+        this.totalPosts = totalPosts;
+        this.deletedPosts = deletedPosts;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public long getTotalPosts() {
+        return totalPosts;
+    }
+
+    public void setTotalPosts(long totalPosts) {
+        this.totalPosts = totalPosts;
+    }
+
+    public long getDeletedPosts() {
+        return deletedPosts;
+    }
+
+    public void setDeletedPosts(long deletedPosts) {
+        this.deletedPosts = deletedPosts;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -20,6 +20,11 @@ public class UserDto {
         this.enabled = enabled;
     }
 
+    public UserDto(Long id, String name, String email, Role role, Boolean enabled, Boolean isBlocked) {
+        this(id, name, email, role, enabled);
+        this.isBlocked = isBlocked != null ? isBlocked : false;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,80 @@
+package com.webblog.dto;
+
+import java.util.List;
+
+public class UserProfileDto {
+    private UserDto user;
+    private long postCount;
+    private long commentsWritten;
+    private long commentsReceived;
+    private long likesReceived;
+    private List<ProfileActivityDto> recentActivity;
+    private List<PostSummaryDto> posts;
+    private String nextCursor;
+
+    public UserProfileDto() {}
+
+    public UserDto getUser() {
+        return user;
+    }
+
+    public void setUser(UserDto user) {
+        this.user = user;
+    }
+
+    public long getPostCount() {
+        return postCount;
+    }
+
+    public void setPostCount(long postCount) {
+        this.postCount = postCount;
+    }
+
+    public long getCommentsWritten() {
+        return commentsWritten;
+    }
+
+    public void setCommentsWritten(long commentsWritten) {
+        this.commentsWritten = commentsWritten;
+    }
+
+    public long getCommentsReceived() {
+        return commentsReceived;
+    }
+
+    public void setCommentsReceived(long commentsReceived) {
+        this.commentsReceived = commentsReceived;
+    }
+
+    public long getLikesReceived() {
+        return likesReceived;
+    }
+
+    public void setLikesReceived(long likesReceived) {
+        this.likesReceived = likesReceived;
+    }
+
+    public List<ProfileActivityDto> getRecentActivity() {
+        return recentActivity;
+    }
+
+    public void setRecentActivity(List<ProfileActivityDto> recentActivity) {
+        this.recentActivity = recentActivity;
+    }
+
+    public List<PostSummaryDto> getPosts() {
+        return posts;
+    }
+
+    public void setPosts(List<PostSummaryDto> posts) {
+        this.posts = posts;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
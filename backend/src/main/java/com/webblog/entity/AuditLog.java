@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+    @Index(name = "idx_audit_logs_actor_timestamp", columnList = "actor_id, timestamp"),
+    @Index(name = "idx_audit_logs_entity_timestamp", columnList = "entity_type, entity_id, timestamp")
+})
 public class AuditLog {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
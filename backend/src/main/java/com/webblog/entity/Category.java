@@ -16,6 +16,10 @@ public class Category {
     @Column(nullable = false, unique = true)
     private String name;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long version;
+
     @ManyToMany(mappedBy = "categories")
     private List<Post> posts = new ArrayList<>();
 
@@ -42,6 +46,10 @@ public class Category {
         this.name = name;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public List<Post> getPosts() {
         return posts;
     }
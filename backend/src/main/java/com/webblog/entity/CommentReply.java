@@ -5,10 +5,16 @@ import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comment_replies")
+@Table(name = "comment_replies", indexes = {
+    @Index(name = "idx_comment_replies_parent_created_at_id", columnList = "parent_comment_id, created_at, id"),
+    @Index(name = "idx_comment_replies_user_created_at", columnList = "user_id, created_at")
+})
 public class CommentReply {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_reply_ids")
+    @TableGenerator(name = "comment_reply_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "comment_replies",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
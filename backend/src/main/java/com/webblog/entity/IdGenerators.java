@@ -0,0 +1,14 @@
+package com.webblog.entity;
+
+/**
+ * Shared settings of the table-backed id generators. Unlike IDENTITY columns, ids handed out in blocks
+ * let Hibernate batch inserts, since the id is known before the row is written.
+ */
+public final class IdGenerators {
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "entity";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {}
+}
@@ -7,10 +7,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_posts_author_created_at_id", columnList = "author_id, created_at, id")
+})
 public class Post {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "post_ids")
+    @TableGenerator(name = "post_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "posts",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank
@@ -21,13 +27,48 @@ public class Post {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    /**
+     * Plain-text lead of the content and estimated reading time, derived from the content whenever it is
+     * written so list endpoints never have to read the full TEXT column.
+     */
+    @Column(length = 300)
+    private String excerpt;
+
+    @Column(name = "reading_time_minutes")
+    private Integer readingTimeMinutes;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    private LocalDateTime updatedAt;
+
+    /**
+     * Bumped on every write through JPA; backs the ETag of GET /api/posts/{id}.
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long version;
+
+    /**
+     * Denormalized like count, maintained asynchronously by PostLikeCounter and periodically
+     * reconciled against post_likes. Not written through JPA.
+     */
+    @Column(name = "like_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long likeCount;
+
+    /**
+     * Denormalized count of comments plus replies, adjusted in the same transaction as each comment or
+     * reply write and periodically reconciled. Not written through JPA.
+     */
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long commentCount;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "post_categories",
@@ -44,6 +85,11 @@ public class Post {
         createdAt = LocalDateTime.now();
     }
 
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
     public Post() {}
 
     public Post(String title, String content, User author) {
@@ -77,6 +123,22 @@ public class Post {
         this.content = content;
     }
 
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public Integer getReadingTimeMinutes() {
+        return readingTimeMinutes;
+    }
+
+    public void setReadingTimeMinutes(Integer readingTimeMinutes) {
+        this.readingTimeMinutes = readingTimeMinutes;
+    }
+
     public User getAuthor() {
         return author;
     }
@@ -93,6 +155,30 @@ public class Post {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(long likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
+    }
+
     public List<Category> getCategories() {
         return categories;
     }
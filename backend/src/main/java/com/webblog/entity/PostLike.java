@@ -6,6 +6,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "post_likes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"post_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_post_likes_user_created_at", columnList = "user_id, created_at")
 })
 public class PostLike {
     @Id
@@ -43,6 +43,13 @@ public class User {
     @Column(nullable = true, columnDefinition = "BOOLEAN DEFAULT FALSE")
     private Boolean isBlocked = false;
 
+    /**
+     * Bumped on every write through JPA, so ETags of posts and comments can cover their author's state.
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long version;
+
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<Post> posts = new ArrayList<>();
@@ -116,6 +123,10 @@ public class User {
         this.isBlocked = isBlocked != null ? isBlocked : false;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public List<Post> getPosts() {
         return posts;
     }
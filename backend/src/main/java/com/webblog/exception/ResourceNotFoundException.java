@@ -0,0 +1,12 @@
+package com.webblog.exception;
+
+/**
+ * A requested resource does not exist; answered with 404 instead of the 400 of other runtime exceptions.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
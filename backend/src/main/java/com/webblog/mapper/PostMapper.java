@@ -1,10 +1,15 @@
 package com.webblog.mapper;
 
+import com.webblog.dto.CategoryDto;
 import com.webblog.dto.PostDto;
+import com.webblog.dto.PostSummaryDto;
 import com.webblog.entity.Post;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -19,6 +24,15 @@ public class PostMapper {
         if (post == null) {
             return null;
         }
+        return toDto(post, post.getCategories().stream()
+                .map(categoryMapper::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Maps the post with categories the caller already has as DTOs, without touching the association.
+     */
+    public PostDto toDto(Post post, List<CategoryDto> categories) {
         PostDto dto = new PostDto();
         dto.setId(post.getId());
         dto.setTitle(post.getTitle());
@@ -26,10 +40,23 @@ public class PostMapper {
         dto.setAuthor(userMapper.toDto(post.getAuthor()));
         dto.setCreatedAt(post.getCreatedAt());
         dto.setAuthorId(post.getAuthor().getId());
-        dto.setCategories(post.getCategories().stream()
-                .map(categoryMapper::toDto)
-                .collect(Collectors.toList()));
+        dto.setCategories(categories);
         return dto;
     }
-}
 
+    /**
+     * Fills in the categories of projected posts from [postId, categoryId, categoryName] rows.
+     */
+    public void attachCategories(List<PostSummaryDto> posts, List<Object[]> categoryRows) {
+        Map<Long, PostSummaryDto> byId = new HashMap<>();
+        for (PostSummaryDto post : posts) {
+            byId.put(post.getId(), post);
+        }
+        for (Object[] row : categoryRows) {
+            PostSummaryDto post = byId.get((Long) row[0]);
+            if (post != null) {
+                post.getCategories().add(new CategoryDto((Long) row[1], (String) row[2]));
+            }
+        }
+    }
+}
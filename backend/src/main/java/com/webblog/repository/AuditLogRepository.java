@@ -2,13 +2,18 @@ package com.webblog.repository;
 
 import com.webblog.entity.AuditLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-    List<AuditLog> findByEntityTypeAndEntityIdOrderByTimestampDesc(String entityType, Long entityId);
-    List<AuditLog> findByActorIdOrderByTimestampDesc(Long actorId);
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
+    /**
+     * Keeps the user's audit history but detaches it from the user row.
+     */
+    @Modifying
+    @Query("UPDATE AuditLog a SET a.actor = null WHERE a.actor.id = :actorId")
+    int clearActor(@Param("actorId") Long actorId);
 }
 
@@ -0,0 +1,13 @@
+package com.webblog.repository;
+
+import com.webblog.entity.AuditLog;
+
+import java.util.List;
+
+/**
+ * Audit lookups that are served by the audit journal when it is enabled, and by audit_logs otherwise.
+ */
+public interface AuditLogRepositoryCustom {
+    List<AuditLog> findByEntityTypeAndEntityIdOrderByTimestampDesc(String entityType, Long entityId);
+    List<AuditLog> findByActorIdOrderByTimestampDesc(Long actorId);
+}
@@ -0,0 +1,70 @@
+package com.webblog.repository;
+
+import com.webblog.entity.AuditLog;
+import com.webblog.entity.User;
+import com.webblog.service.AuditJournal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class AuditLogRepositoryImpl implements AuditLogRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Only present when webblog.audit.journal.enabled is set
+    @Autowired(required = false)
+    private AuditJournal auditJournal;
+
+    @Override
+    public List<AuditLog> findByEntityTypeAndEntityIdOrderByTimestampDesc(String entityType, Long entityId) {
+        if (auditJournal != null) {
+            return toAuditLogs(auditJournal.findByEntity(entityType, entityId));
+        }
+        return entityManager.createQuery(
+                        "SELECT a FROM AuditLog a WHERE a.entityType = :entityType AND a.entityId = :entityId " +
+                        "ORDER BY a.timestamp DESC", AuditLog.class)
+                .setParameter("entityType", entityType)
+                .setParameter("entityId", entityId)
+                .getResultList();
+    }
+
+    @Override
+    public List<AuditLog> findByActorIdOrderByTimestampDesc(Long actorId) {
+        if (auditJournal != null) {
+            return toAuditLogs(auditJournal.findByActorId(actorId));
+        }
+        return entityManager.createQuery(
+                        "SELECT a FROM AuditLog a WHERE a.actor.id = :actorId ORDER BY a.timestamp DESC", AuditLog.class)
+                .setParameter("actorId", actorId)
+                .getResultList();
+    }
+
+    /**
+     * Unmanaged AuditLog views of journal entries. They have no id; actors are loaded in one query, and
+     * one that no longer exists reads as a null actor.
+     */
+    private List<AuditLog> toAuditLogs(List<AuditJournal.Entry> entries) {
+        Set<Long> actorIds = entries.stream()
+                .map(AuditJournal.Entry::getActorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> actors = actorIds.isEmpty() ? Map.of() : entityManager.createQuery(
+                        "SELECT u FROM User u WHERE u.id IN :ids", User.class)
+                .setParameter("ids", actorIds)
+                .getResultStream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return entries.stream().map(entry -> {
+            User actor = entry.getActorId() != null ? actors.get(entry.getActorId()) : null;
+            AuditLog auditLog = new AuditLog(actor, entry.getAction(), entry.getEntityType(), entry.getEntityId());
+            auditLog.setTimestamp(entry.getTimestamp());
+            return auditLog;
+        }).collect(Collectors.toList());
+    }
+}
@@ -1,13 +1,58 @@
 package com.webblog.repository;
 
+import com.webblog.dto.CommentReplyDto;
 import com.webblog.entity.CommentReply;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentReplyRepository extends JpaRepository<CommentReply, Long> {
     List<CommentReply> findByParentCommentIdOrderByCreatedAtAsc(Long parentCommentId);
+
+    long countByAuthorId(Long authorId);
+
+    /**
+     * The user's most recent replies as [postId, postTitle, createdAt] rows.
+     */
+    @Query("SELECT p.id, p.title, r.createdAt FROM CommentReply r JOIN r.parentComment c JOIN c.post p " +
+           "WHERE r.author.id = :authorId ORDER BY r.createdAt DESC")
+    List<Object[]> findRecentActivityRows(@Param("authorId") Long authorId, Pageable pageable);
+
+    /**
+     * Replies to any of the given comments, grouped by comment and oldest first within each.
+     */
+    @Query("SELECT new com.webblog.dto.CommentReplyDto(r.id, r.parentComment.id, r.content, r.createdAt, " +
+           "a.id, a.name, a.email, a.role, a.enabled, a.isBlocked) " +
+           "FROM CommentReply r JOIN r.author a WHERE r.parentComment.id IN :commentIds " +
+           "ORDER BY r.parentComment.id, r.createdAt, r.id")
+    List<CommentReplyDto> findReplyDtosByParentCommentIds(@Param("commentIds") Collection<Long> commentIds);
+
+    @Modifying
+    @Query("DELETE FROM CommentReply r WHERE r.parentComment.id = :commentId")
+    int deleteAllByParentCommentId(@Param("commentId") Long commentId);
+
+    @Query("SELECT r.parentComment.post.id FROM CommentReply r WHERE r.id = :id")
+    Optional<Long> findPostIdById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM CommentReply r WHERE r.parentComment.id IN " +
+           "(SELECT c.id FROM Comment c WHERE c.post.id IN :postIds)")
+    int deleteAllOnPosts(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Replies written by the user, and replies to comments the user wrote.
+     */
+    @Modifying
+    @Query("DELETE FROM CommentReply r WHERE r.author.id = :userId OR r.parentComment.id IN " +
+           "(SELECT c.id FROM Comment c WHERE c.author.id = :userId)")
+    int deleteAllByOrUnderUser(@Param("userId") Long userId);
 }
 
@@ -1,14 +1,76 @@
 package com.webblog.repository;
 
+import com.webblog.dto.CommentDto;
 import com.webblog.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByPostId(Long postId);
     List<Comment> findByAuthorId(Long authorId);
+
+    long countByAuthorId(Long authorId);
+    long countByPostId(Long postId);
+
+    /**
+     * The user's most recent comments as [postId, postTitle, createdAt] rows.
+     */
+    @Query("SELECT p.id, p.title, c.createdAt FROM Comment c JOIN c.post p WHERE c.author.id = :authorId " +
+           "ORDER BY c.createdAt DESC")
+    List<Object[]> findRecentActivityRows(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.post.id IN :postIds")
+    int deleteAllByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Posts whose comment_count includes comments or replies by the user.
+     */
+    @Query("SELECT DISTINCT c.post.id FROM Comment c WHERE c.author.id = :userId OR c.id IN " +
+           "(SELECT r.parentComment.id FROM CommentReply r WHERE r.author.id = :userId)")
+    List<Long> findPostIdsWithCommentsBy(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.author.id = :authorId")
+    int deleteAllByAuthorId(@Param("authorId") Long authorId);
+
+    /**
+     * [id, version, authorVersion] of each of a post's comments in id order, for hashing into an ETag.
+     */
+    @Query("SELECT c.id, c.version, a.version FROM Comment c JOIN c.author a WHERE c.post.id = :postId ORDER BY c.id")
+    List<Object[]> findVersionRowsByPostId(@Param("postId") Long postId);
+
+    @Query("SELECT new com.webblog.dto.CommentDto(c.id, c.content, c.post.id, c.createdAt, " +
+           "a.id, a.name, a.email, a.role, a.enabled, a.isBlocked) " +
+           "FROM Comment c JOIN c.author a WHERE c.post.id = :postId ORDER BY c.createdAt, c.id")
+    List<CommentDto> findCommentDtosByPostId(@Param("postId") Long postId);
+
+    /**
+     * First page of a post's top-level comments, oldest first.
+     */
+    @Query("SELECT new com.webblog.dto.CommentDto(c.id, c.content, c.post.id, c.createdAt, " +
+           "a.id, a.name, a.email, a.role, a.enabled, a.isBlocked) " +
+           "FROM Comment c JOIN c.author a WHERE c.post.id = :postId ORDER BY c.createdAt, c.id")
+    List<CommentDto> findCommentDtosByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    /**
+     * Page of a post's top-level comments that seeks past the (createdAt, id) of the last one seen.
+     */
+    @Query("SELECT new com.webblog.dto.CommentDto(c.id, c.content, c.post.id, c.createdAt, " +
+           "a.id, a.name, a.email, a.role, a.enabled, a.isBlocked) " +
+           "FROM Comment c JOIN c.author a WHERE c.post.id = :postId " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt, c.id")
+    List<CommentDto> findCommentDtosByPostIdAfter(@Param("postId") Long postId,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id, Pageable pageable);
 }
 
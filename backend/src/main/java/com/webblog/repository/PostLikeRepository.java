@@ -1,9 +1,16 @@
 package com.webblog.repository;
 
 import com.webblog.entity.PostLike;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +18,39 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     Optional<PostLike> findByPostIdAndUserId(Long postId, Long userId);
     boolean existsByPostIdAndUserId(Long postId, Long userId);
     long countByPostId(Long postId);
-    void deleteByPostIdAndUserId(Long postId, Long userId);
-}
+    /**
+     * Inserts the like unless it already exists (or the post doesn't). Returns 1 if a row was inserted.
+     * Relies on the (post_id, user_id) unique key, so concurrent likes cannot produce duplicates. The
+     * timestamp comes from the JVM, like the one @PrePersist sets, so it is in the same zone as other rows.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_likes (post_id, user_id, created_at) VALUES (:postId, :userId, :createdAt)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId, @Param("userId") Long userId,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM PostLike pl WHERE pl.post.id = :postId AND pl.user.id = :userId")
+    int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    /**
+     * The user's most recent likes as [postId, postTitle, createdAt] rows.
+     */
+    @Query("SELECT p.id, p.title, pl.createdAt FROM PostLike pl JOIN pl.post p WHERE pl.user.id = :userId " +
+           "ORDER BY pl.createdAt DESC")
+    List<Object[]> findRecentActivityRows(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT pl.post.id FROM PostLike pl WHERE pl.user.id = :userId")
+    List<Long> findPostIdsLikedBy(@Param("userId") Long userId);
 
+    @Modifying
+    @Query("DELETE FROM PostLike pl WHERE pl.post.id IN :postIds")
+    int deleteAllByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM PostLike pl WHERE pl.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT pl.post.id FROM PostLike pl WHERE pl.user.id = :userId AND pl.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+}
@@ -1,17 +1,209 @@
 package com.webblog.repository;
 
+import com.webblog.dto.PostSummaryDto;
 import com.webblog.entity.Post;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    List<Post> findByAuthorId(Long authorId);
+    // Comments and replies on post p, as correlated subqueries so the updates below stay portable SQL
+    String COMMENT_TOTAL = "((SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id) + " +
+            "(SELECT COUNT(*) FROM comment_replies r JOIN comments c ON c.id = r.parent_comment_id " +
+            "WHERE c.post_id = p.id))";
+
+    String POST_SUMMARY_SELECT = "SELECT new com.webblog.dto.PostSummaryDto(p.id, p.title, p.excerpt, " +
+            "p.readingTimeMinutes, p.createdAt, p.likeCount, p.commentCount, " +
+            "a.id, a.name, a.email, a.role, a.enabled, a.isBlocked) FROM Post p JOIN p.author a ";
+
+    /**
+     * Ids of the author's first page of posts, newest first, from idx_posts_author_created_at_id.
+     */
+    @Query("SELECT p.id FROM Post p WHERE p.author.id = :authorId ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findIdsByAuthorIdNewestFirst(@Param("authorId") Long authorId, Pageable pageable);
+
+    /**
+     * As {@link #findIdsByAuthorIdNewestFirst}, seeking past the (createdAt, id) of the last post seen.
+     */
+    @Query("SELECT p.id FROM Post p WHERE p.author.id = :authorId " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findIdsByAuthorIdNewestFirstAfter(@Param("authorId") Long authorId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id, Pageable pageable);
+
+    /**
+     * The author's [postCount, commentCountSum, likeCountSum] as a single row.
+     */
+    @Query("SELECT COUNT(p), COALESCE(SUM(p.commentCount), 0), COALESCE(SUM(p.likeCount), 0) " +
+           "FROM Post p WHERE p.author.id = :authorId")
+    List<Object[]> findAuthorTotals(@Param("authorId") Long authorId);
+
+    /**
+     * The author's most recent posts as [postId, title, createdAt] rows.
+     */
+    @Query("SELECT p.id, p.title, p.createdAt FROM Post p WHERE p.author.id = :authorId " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Object[]> findRecentPostRows(@Param("authorId") Long authorId, Pageable pageable);
+
+    long countByAuthorId(Long authorId);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    /**
+     * Recomputes comment_count of the given posts from comments and comment_replies.
+     */
+    @Modifying
+    @Query(value = "UPDATE posts p SET p.comment_count = " + COMMENT_TOTAL + " WHERE p.id IN (:postIds)",
+            nativeQuery = true)
+    int recountComments(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Rewrites comment_count for every post whose stored value disagrees with the comment tables.
+     */
+    @Modifying
+    @Query(value = "UPDATE posts p SET p.comment_count = " + COMMENT_TOTAL + " " +
+                   "WHERE p.comment_count <> " + COMMENT_TOTAL, nativeQuery = true)
+    int reconcileCommentCounts();
+
+    @Query("SELECT p.id FROM Post p WHERE p.author.id = :authorId ORDER BY p.id")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "DELETE FROM post_categories WHERE post_id IN (:postIds)", nativeQuery = true)
+    int deleteCategoryLinksByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
     
-    @Query("SELECT p FROM Post p ORDER BY p.createdAt DESC")
-    List<Post> findAllOrderByCreatedAtDesc();
-}
+    @Override
+    @EntityGraph(attributePaths = {"author", "categories"})
+    Optional<Post> findById(Long id);
+
+    /**
+     * Summaries of the given posts, newest first. Categories are not included; attach them from
+     * {@link #findPostCategoryRowsByPostIds}.
+     */
+    @Query(POST_SUMMARY_SELECT + "WHERE p.id IN :ids ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDto> findPostSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Posts written before excerpts were stored.
+     */
+    List<Post> findByExcerptIsNull(Pageable pageable);
 
+    /**
+     * Categories of a batch of posts as [postId, categoryId, categoryName] rows.
+     */
+    @Query("SELECT p.id, c.id, c.name FROM Post p JOIN p.categories c WHERE p.id IN :ids")
+    List<Object[]> findPostCategoryRowsByPostIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Post ids of the first feed page. Resolved from idx_posts_created_at_id alone, so the cost is bounded
+     * by the page size rather than the table size.
+     */
+    @Query("SELECT p.id FROM Post p ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findFeedIds(Pageable pageable);
+
+    /**
+     * Post ids of the feed page that seeks past the (createdAt, id) of the last post the client has seen.
+     */
+    @Query("SELECT p.id FROM Post p " +
+           "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findFeedIdsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * As {@link #findFeedIdsAfter}, among the given post ids.
+     */
+    @Query("SELECT p.id FROM Post p WHERE p.id IN :ids " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findFeedIdsAmongAfter(@Param("ids") Collection<Long> ids, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Pageable pageable);
+
+    /**
+     * As {@link #findFeedIdsAfter}, restricted to posts in any of the given categories.
+     */
+    @Query("SELECT p.id FROM Post p " +
+           "WHERE EXISTS (SELECT 1 FROM Post cp JOIN cp.categories c WHERE cp = p AND c.id IN :categoryIds) " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findFeedIdsInAnyCategoryAfter(@Param("categoryIds") Collection<Long> categoryIds,
+                                             @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                             Pageable pageable);
+
+    /**
+     * As {@link #findFeedIdsAfter}, restricted to posts in every one of the given (distinct) categories.
+     */
+    @Query("SELECT p.id FROM Post p " +
+           "WHERE (SELECT COUNT(c) FROM Post cp JOIN cp.categories c WHERE cp = p AND c.id IN :categoryIds) = :categoryCount " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findFeedIdsInAllCategoriesAfter(@Param("categoryIds") Collection<Long> categoryIds,
+                                               @Param("categoryCount") long categoryCount,
+                                               @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                               Pageable pageable);
+
+    /**
+     * Conditional GET validators of one post as a single [version, createdAt, updatedAt, categoryCount,
+     * categoryIdSum, categoryVersionSum, authorVersion] row, or no rows when the post does not exist.
+     */
+    @Query("SELECT p.version, p.createdAt, p.updatedAt, COUNT(c), COALESCE(SUM(c.id), 0), COALESCE(SUM(c.version), 0), " +
+           "a.version FROM Post p JOIN p.author a LEFT JOIN p.categories c WHERE p.id = :id " +
+           "GROUP BY p.id, p.version, p.createdAt, p.updatedAt, a.version")
+    List<Object[]> findVersionRow(@Param("id") Long id);
+
+    @Query("SELECT p.likeCount FROM Post p WHERE p.id = :id")
+    Optional<Long> findLikeCountById(@Param("id") Long id);
+
+    /**
+     * Stored like counts for a batch of posts as [postId, likeCount] rows.
+     */
+    @Query("SELECT p.id, p.likeCount FROM Post p WHERE p.id IN :ids")
+    List<Object[]> findLikeCountsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Search index source rows as [id, title, content, authorName], in id order after {@code afterId}.
+     */
+    @Query("SELECT p.id, p.title, p.content, a.name FROM Post p JOIN p.author a WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Search index source rows as [id, title, content, authorName] for a batch of posts.
+     */
+    @Query("SELECT p.id, p.title, p.content, a.name FROM Post p JOIN p.author a WHERE p.id IN :ids")
+    List<Object[]> findSearchDocumentsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ids of the posts filed under a category.
+     */
+    @Query("SELECT p.id FROM Post p JOIN p.categories c WHERE c.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    /**
+     * Category names of a batch of posts as [postId, categoryName] rows.
+     */
+    @Query("SELECT p.id, c.name FROM Post p JOIN p.categories c WHERE p.id IN :ids")
+    List<Object[]> findCategoryNamesByPostIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Every row of post_categories as [postId, categoryId].
+     */
+    @Query("SELECT p.id, c.id FROM Post p JOIN p.categories c")
+    Stream<Object[]> streamPostCategoryPairs();
+}
@@ -1,18 +1,60 @@
 package com.webblog.repository;
 
+import com.webblog.dto.ReportDto;
 import com.webblog.entity.Report;
 import com.webblog.entity.ReportStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Long> {
-    List<Report> findByStatusOrderByCreatedAtDesc(ReportStatus status);
-    List<Report> findAllByOrderByCreatedAtDesc();
+    String REPORT_DTO_SELECT = "SELECT new com.webblog.dto.ReportDto(r.id, r.reason, r.status, r.createdAt, p.id, c.id, " +
+            "u.id, u.name, u.email, u.role, u.enabled, u.isBlocked) " +
+            "FROM Report r JOIN r.reporter u LEFT JOIN r.post p LEFT JOIN r.comment c ";
+
+    @Query(REPORT_DTO_SELECT + "WHERE r.status = :status ORDER BY r.createdAt DESC")
+    List<ReportDto> findReportDtosByStatus(@Param("status") ReportStatus status);
+
+    @Query(REPORT_DTO_SELECT + "ORDER BY r.createdAt DESC")
+    List<ReportDto> findAllReportDtos();
+
     long countByStatus(ReportStatus status);
+    long countByCommentIdAndStatus(Long commentId, ReportStatus status);
     List<Report> findByPostId(Long postId);
     List<Report> findByReporterId(Long reporterId);
+
+    @Modifying
+    @Query("DELETE FROM Report r WHERE r.comment.id = :commentId")
+    int deleteAllByCommentId(@Param("commentId") Long commentId);
+
+    /**
+     * Reports on the posts or on comments under them.
+     */
+    @Query("SELECT COUNT(r) FROM Report r WHERE r.status = :status AND (r.post.id IN :postIds OR r.comment.id IN " +
+           "(SELECT c.id FROM Comment c WHERE c.post.id IN :postIds))")
+    long countOnPostsByStatus(@Param("postIds") Collection<Long> postIds, @Param("status") ReportStatus status);
+
+    @Modifying
+    @Query("DELETE FROM Report r WHERE r.post.id IN :postIds OR r.comment.id IN " +
+           "(SELECT c.id FROM Comment c WHERE c.post.id IN :postIds)")
+    int deleteAllOnPosts(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Reports filed by the user, and reports on comments the user wrote.
+     */
+    @Query("SELECT COUNT(r) FROM Report r WHERE r.status = :status AND (r.reporter.id = :userId OR r.comment.id IN " +
+           "(SELECT c.id FROM Comment c WHERE c.author.id = :userId))")
+    long countByOrAboutUserAndStatus(@Param("userId") Long userId, @Param("status") ReportStatus status);
+
+    @Modifying
+    @Query("DELETE FROM Report r WHERE r.reporter.id = :userId OR r.comment.id IN " +
+           "(SELECT c.id FROM Comment c WHERE c.author.id = :userId)")
+    int deleteAllByOrAboutUser(@Param("userId") Long userId);
 }
 
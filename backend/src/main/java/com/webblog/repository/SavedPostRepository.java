@@ -2,8 +2,13 @@ package com.webblog.repository;
 
 import com.webblog.entity.SavedPost;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,7 +16,35 @@ import java.util.Optional;
 public interface SavedPostRepository extends JpaRepository<SavedPost, Long> {
     Optional<SavedPost> findByUserIdAndPostId(Long userId, Long postId);
     boolean existsByUserIdAndPostId(Long userId, Long postId);
-    List<SavedPost> findByUserIdOrderBySavedAtDesc(Long userId);
-    void deleteByUserIdAndPostId(Long userId, Long postId);
-}
 
+    /**
+     * A user's saved posts as [savedPostId, postId, savedAt] rows, most recently saved first.
+     */
+    @Query("SELECT sp.id, sp.post.id, sp.savedAt FROM SavedPost sp WHERE sp.user.id = :userId ORDER BY sp.savedAt DESC")
+    List<Object[]> findSavedRowsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Inserts the save unless it already exists (or the post doesn't). Returns 1 if a row was inserted.
+     * The timestamp comes from the JVM, like the one @PrePersist sets.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO saved_posts (user_id, post_id, saved_at) VALUES (:userId, :postId, :savedAt)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("postId") Long postId,
+                       @Param("savedAt") LocalDateTime savedAt);
+
+    @Modifying
+    @Query("DELETE FROM SavedPost sp WHERE sp.user.id = :userId AND sp.post.id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM SavedPost sp WHERE sp.post.id IN :postIds")
+    int deleteAllByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM SavedPost sp WHERE sp.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT sp.post.id FROM SavedPost sp WHERE sp.user.id = :userId AND sp.post.id IN :postIds")
+    List<Long> findSavedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+}
@@ -2,7 +2,9 @@ package com.webblog.repository;
 
 import com.webblog.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,5 +21,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u ORDER BY u.id ASC")
     List<User> findAllUsersWithoutRelations();
+
+    /**
+     * Disables the account, so it can no longer authenticate while its content is being deleted.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.enabled = false WHERE u.id = :id")
+    int disableUser(@Param("id") Long id);
+
+    /**
+     * Deletes the row without loading the user's post and comment collections for cascading.
+     */
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int deleteUserRow(@Param("id") Long id);
 }
 
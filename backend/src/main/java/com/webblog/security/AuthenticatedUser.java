@@ -0,0 +1,90 @@
+package com.webblog.security;
+
+import com.webblog.entity.Role;
+import com.webblog.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Immutable snapshot of a user as seen by the security layer. It is cached in {@link PrincipalCache}
+ * and set as the request principal by {@link JwtFilter}, so services can read the caller's id and role
+ * without querying the users table again.
+ */
+public class AuthenticatedUser implements UserDetails {
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final Role role;
+    private final boolean enabled;
+    private final boolean blocked;
+
+    public AuthenticatedUser(User user) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.password = user.getPassword();
+        this.role = user.getRole();
+        this.enabled = user.getEnabled() != null ? user.getEnabled() : true;
+        this.blocked = user.getIsBlocked();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ROLE_ADMIN;
+    }
+
+    public boolean isBlocked() {
+        return blocked;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,54 @@
+package com.webblog.security;
+
+import com.webblog.entity.User;
+import com.webblog.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the caller from the principal {@link JwtFilter} placed in the security context, so services
+ * do not repeat the user lookup the filter already did.
+ */
+@Component
+public class CurrentUserResolver {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    public AuthenticatedUser getCurrentPrincipal() {
+        AuthenticatedUser principal = getCurrentPrincipalOrNull();
+        if (principal == null) {
+            throw new RuntimeException("User not found");
+        }
+        return principal;
+    }
+
+    /**
+     * The caller, or null for anonymous requests.
+     */
+    public AuthenticatedUser getCurrentPrincipalOrNull() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal;
+        }
+        if (authentication.getName().equals("anonymousUser")) {
+            return null;
+        }
+        // Authenticated by something other than JwtFilter (e.g. tests); fall back to the cache
+        return (AuthenticatedUser) userDetailsService.loadUserByUsername(authentication.getName());
+    }
+
+    /**
+     * Lazy reference to the caller's row, for use as an association target without a SELECT.
+     */
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentPrincipal().getId());
+    }
+}
@@ -0,0 +1,64 @@
+package com.webblog.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Claims of tokens whose signature has already been verified, keyed by a SHA-256 digest of the token
+ * so raw bearer tokens are never kept in memory. Each entry lives only until the token's own expiry.
+ */
+@Component
+public class JwtClaimsCache {
+    private final Map<String, Claims> entries = new ConcurrentHashMap<>();
+
+    @Value("${webblog.auth.jwt-cache.max-size:10000}")
+    private int maxSize;
+
+    public Claims get(String token) {
+        String key = digest(token);
+        Claims claims = entries.get(key);
+        if (claims == null) {
+            return null;
+        }
+        if (isExpired(claims, System.currentTimeMillis())) {
+            entries.remove(key);
+            return null;
+        }
+        return claims;
+    }
+
+    public void put(String token, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(cached -> isExpired(cached, now));
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+        entries.put(digest(token), claims);
+    }
+
+    private static boolean isExpired(Claims claims, long now) {
+        return claims.getExpiration().getTime() <= now;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
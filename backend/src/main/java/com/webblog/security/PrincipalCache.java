@@ -0,0 +1,84 @@
+package com.webblog.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of {@link AuthenticatedUser} snapshots keyed by email (the JWT subject).
+ * Anything that changes a user's role, block state or existence must call {@link #evict(String)}.
+ */
+@Component
+public class PrincipalCache {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${webblog.auth.principal-cache.ttl-ms:60000}")
+    private long ttlMillis;
+
+    @Value("${webblog.auth.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    public AuthenticatedUser get(String email, Function<String, AuthenticatedUser> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.principal;
+        }
+
+        AuthenticatedUser principal = loader.apply(email);
+        if (entries.size() >= maxSize) {
+            evictOldest(now);
+        }
+        entries.put(email, new Entry(principal, now + ttlMillis));
+        return principal;
+    }
+
+    /**
+     * Drops the cached principal now and, when called inside a transaction, again after it commits so a
+     * request racing the commit cannot re-cache the old state.
+     */
+    public void evict(String email) {
+        entries.remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(email);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evictOldest(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        if (excess > 0) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+    }
+
+    private static final class Entry {
+        private final AuthenticatedUser principal;
+        private final long expiresAt;
+
+        private Entry(AuthenticatedUser principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
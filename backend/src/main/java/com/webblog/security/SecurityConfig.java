@@ -73,13 +73,16 @@ public class SecurityConfig {
                 .requestMatchers("/api/posts/**").permitAll()
                 .requestMatchers("/api/comments/**").permitAll()
                 .requestMatchers("/api/categories").permitAll()
+                .requestMatchers("/api/categories/counts").permitAll()
                 .requestMatchers("/api/post-likes/*/count").permitAll()
+                .requestMatchers("/api/post-likes/batch").permitAll()
                 .requestMatchers("/api/post-likes/**").authenticated()
                 .requestMatchers("/api/saved-posts/**").authenticated()
                 .requestMatchers("/api/comment-replies/**").permitAll()
                 .requestMatchers("/api/reports").authenticated()
                 .requestMatchers("/api/reports/**").hasRole("ADMIN")
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/api/users/me/**").authenticated()
                 .requestMatchers("/api/users/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             );
@@ -0,0 +1,403 @@
+package com.webblog.service;
+
+import com.webblog.dto.ActivityBucketDto;
+import com.webblog.dto.ActivitySeriesDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-minute, hourly and daily counts of posts, comments, likes, registrations and reports, recorded by
+ * the service write paths so the dashboard never has to scan the tables they happen in.
+ *
+ * Events are added to the open minute's counters. At every minute boundary that minute is closed into an
+ * in-memory ring holding the last {@link #RING_MINUTES} minutes, and added to its hour and day rows in
+ * activity_rollups (one row per bucket, one column per metric, plus the last minute added). Minute series
+ * are served from the ring; hour and day series from a primary key range scan of activity_rollups, plus
+ * whatever is not written yet.
+ */
+@Component
+public class ActivityRollups {
+    private static final Logger log = LoggerFactory.getLogger(ActivityRollups.class);
+
+    public static final int RING_MINUTES = 1440;
+    public static final int MAX_BUCKETS = 1440;
+
+    private static final String TABLE = "activity_rollups";
+
+    // A minute is added only if it is newer than the last one in the row, so a batch retried after an
+    // ambiguous failure cannot count any minute twice. Assumes a single writer, which adds minutes in order.
+    private static final String UPSERT_SQL =
+            "INSERT INTO " + TABLE + " (resolution, bucket_start, posts, comments, likes, registrations, reports, " +
+            "last_flushed_minute) VALUES (?, ?, ?, ?, ?, ?, ?, ?) AS new ON DUPLICATE KEY UPDATE " +
+            addIfNewer("posts") + ", " + addIfNewer("comments") + ", " + addIfNewer("likes") + ", " +
+            addIfNewer("registrations") + ", " + addIfNewer("reports") + ", " +
+            "last_flushed_minute = GREATEST(" + TABLE + ".last_flushed_minute, new.last_flushed_minute)";
+
+    private static final String LAST_FLUSHED_MINUTE =
+            "last_flushed_minute DATETIME NOT NULL DEFAULT '1970-01-01 00:00:00'";
+
+    private static final String RANGE_SQL =
+            "SELECT bucket_start, posts, comments, likes, registrations, reports FROM " + TABLE + " " +
+            "WHERE resolution = ? AND bucket_start >= ? AND bucket_start < ?";
+
+    public enum Metric {
+        POSTS,
+        // Top-level comments and replies
+        COMMENTS,
+        LIKES,
+        REGISTRATIONS,
+        REPORTS
+    }
+
+    public enum Resolution {
+        MINUTE(ChronoUnit.MINUTES, null, 60),
+        HOUR(ChronoUnit.HOURS, "H", 24),
+        DAY(ChronoUnit.DAYS, "D", 30);
+
+        private final ChronoUnit unit;
+        // Value of activity_rollups.resolution; minutes are not persisted
+        private final String code;
+        private final int defaultBuckets;
+
+        Resolution(ChronoUnit unit, String code, int defaultBuckets) {
+            this.unit = unit;
+            this.code = code;
+            this.defaultBuckets = defaultBuckets;
+        }
+    }
+
+    private static final int METRICS = Metric.values().length;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${webblog.activity.hourly-retention-days:90}")
+    private int hourlyRetentionDays;
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Lock flushLock = new ReentrantLock();
+    // Guards the ring and the unwritten minutes, which queries read
+    private final Lock ringLock = new ReentrantLock();
+
+    private volatile MinuteBucket current = new MinuteBucket(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
+    private final long[] ringMinutes = new long[RING_MINUTES];
+    private final long[][] ringCounts = new long[RING_MINUTES][METRICS];
+    // Closed minutes not yet added to activity_rollups, oldest first
+    private final Map<LocalDateTime, long[]> unwritten = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                + "resolution CHAR(1) NOT NULL, "
+                + "bucket_start DATETIME NOT NULL, "
+                + "posts INT UNSIGNED NOT NULL, "
+                + "comments INT UNSIGNED NOT NULL, "
+                + "likes INT UNSIGNED NOT NULL, "
+                + "registrations INT UNSIGNED NOT NULL, "
+                + "reports INT UNSIGNED NOT NULL, "
+                + LAST_FLUSHED_MINUTE + ", "
+                + "PRIMARY KEY (resolution, bucket_start))");
+        // Tables created before the column existed
+        Boolean hasLastFlushedMinute = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet columns = connection.getMetaData()
+                    .getColumns(connection.getCatalog(), null, TABLE, "last_flushed_minute")) {
+                return columns.next();
+            }
+        });
+        if (!Boolean.TRUE.equals(hasLastFlushedMinute)) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN " + LAST_FLUSHED_MINUTE);
+        }
+        Arrays.fill(ringMinutes, -1);
+    }
+
+    /**
+     * Counts one event once the surrounding transaction commits.
+     */
+    public void recordAfterCommit(Metric metric) {
+        TransactionCallbacks.afterCommit(() -> record(metric));
+    }
+
+    public void record(Metric metric) {
+        swapLock.readLock().lock();
+        try {
+            current.counts[metric.ordinal()].increment();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Closes the open minute into the ring and adds it to its hour and day rows.
+     */
+    @Scheduled(cron = "0 * * * * *")
+    public void flush() {
+        flush(false);
+    }
+
+    @Scheduled(initialDelayString = "${webblog.activity.purge-interval-ms:86400000}",
+            fixedDelayString = "${webblog.activity.purge-interval-ms:86400000}")
+    public void purgeHourly() {
+        LocalDateTime cutoff = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(hourlyRetentionDays);
+        int purged = jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE resolution = ? AND bucket_start < ?",
+                Resolution.HOUR.code, Timestamp.valueOf(cutoff));
+        if (purged > 0) {
+            log.info("Purged {} hourly activity rollups older than {}", purged, cutoff);
+        }
+    }
+
+    /**
+     * Buckets in [from, to) at the given resolution, oldest first, with empty buckets included. Defaults to
+     * the most recent 60 minutes, 24 hours or 30 days.
+     */
+    public ActivitySeriesDto getSeries(Resolution resolution, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now().truncatedTo(resolution.unit).plus(1, resolution.unit);
+        LocalDateTime start = (from != null ? from : end.minus(resolution.defaultBuckets, resolution.unit))
+                .truncatedTo(resolution.unit);
+        if (!start.isBefore(end)) {
+            throw new RuntimeException("from must be before to");
+        }
+        long buckets = resolution.unit.between(start, end.minusNanos(1)) + 1;
+        if (buckets > MAX_BUCKETS) {
+            throw new RuntimeException("At most " + MAX_BUCKETS + " buckets can be requested at once");
+        }
+
+        Map<LocalDateTime, long[]> counts = resolution == Resolution.MINUTE
+                ? readRing(start, end)
+                : readRollups(resolution, start, end);
+
+        List<ActivityBucketDto> series = new ArrayList<>((int) buckets);
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = bucket.plus(1, resolution.unit)) {
+            long[] values = counts.getOrDefault(bucket, new long[METRICS]);
+            series.add(new ActivityBucketDto(bucket, values[Metric.POSTS.ordinal()], values[Metric.COMMENTS.ordinal()],
+                    values[Metric.LIKES.ordinal()], values[Metric.REGISTRATIONS.ordinal()],
+                    values[Metric.REPORTS.ordinal()]));
+        }
+        return new ActivitySeriesDto(resolution.name(), start, end, series);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush(true);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write activity rollups at shutdown", e);
+        }
+    }
+
+    private void flush(boolean force) {
+        flushLock.lock();
+        try {
+            LocalDateTime minute = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+            swapLock.writeLock().lock();
+            // Writers are excluded until the closed minute is in the ring, so no reader can miss it
+            ringLock.lock();
+            try {
+                if (!force && current.start.equals(minute)) {
+                    return;
+                }
+                MinuteBucket closed = current;
+                current = new MinuteBucket(minute);
+                long[] counts = closed.snapshot();
+                int slot = slot(closed.start);
+                ringMinutes[slot] = epochMinute(closed.start);
+                ringCounts[slot] = counts;
+                if (!isEmpty(counts)) {
+                    unwritten.merge(closed.start, counts, ActivityRollups::sum);
+                    // Bounded like the ring if the database stays unavailable
+                    while (unwritten.size() > RING_MINUTES) {
+                        LocalDateTime oldest = unwritten.keySet().iterator().next();
+                        unwritten.remove(oldest);
+                        log.warn("Dropped activity counts for {}; activity_rollups has been unwritable", oldest);
+                    }
+                }
+            } finally {
+                ringLock.unlock();
+                swapLock.writeLock().unlock();
+            }
+            write();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write() {
+        List<Map.Entry<LocalDateTime, long[]>> pending;
+        ringLock.lock();
+        try {
+            if (unwritten.isEmpty()) {
+                return;
+            }
+            pending = new ArrayList<>(unwritten.entrySet());
+        } finally {
+            ringLock.unlock();
+        }
+
+        List<Object[]> rows = new ArrayList<>(pending.size() * 2);
+        for (Map.Entry<LocalDateTime, long[]> minute : pending) {
+            rows.add(row(Resolution.HOUR, minute.getKey(), minute.getValue()));
+            rows.add(row(Resolution.DAY, minute.getKey(), minute.getValue()));
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        } catch (RuntimeException e) {
+            // Kept in unwritten and retried on the next flush
+            log.warn("Failed to write activity rollups for {} minutes, will retry", pending.size(), e);
+            return;
+        }
+
+        ringLock.lock();
+        try {
+            pending.forEach(minute -> unwritten.remove(minute.getKey(), minute.getValue()));
+        } finally {
+            ringLock.unlock();
+        }
+    }
+
+    private Map<LocalDateTime, long[]> readRing(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime oldest = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(RING_MINUTES - 1);
+        if (start.isBefore(oldest)) {
+            throw new RuntimeException("Per-minute activity is only kept for the last " + RING_MINUTES + " minutes");
+        }
+        Map<LocalDateTime, long[]> counts = new HashMap<>();
+        ringLock.lock();
+        try {
+            for (LocalDateTime minute = start; minute.isBefore(end); minute = minute.plusMinutes(1)) {
+                int slot = slot(minute);
+                if (ringMinutes[slot] == epochMinute(minute)) {
+                    counts.put(minute, ringCounts[slot]);
+                }
+            }
+            addOpenMinute(counts, ChronoUnit.MINUTES, start, end);
+        } finally {
+            ringLock.unlock();
+        }
+        return counts;
+    }
+
+    private Map<LocalDateTime, long[]> readRollups(Resolution resolution, LocalDateTime start, LocalDateTime end) {
+        Map<LocalDateTime, long[]> counts = new HashMap<>();
+        // Excludes write(), so a minute is counted either from the table or from unwritten, never both
+        flushLock.lock();
+        try {
+            jdbcTemplate.query(RANGE_SQL, rs -> {
+                long[] values = new long[METRICS];
+                for (int i = 0; i < METRICS; i++) {
+                    values[i] = rs.getLong(i + 2);
+                }
+                counts.put(rs.getTimestamp(1).toLocalDateTime(), values);
+            }, resolution.code, Timestamp.valueOf(start), Timestamp.valueOf(end));
+
+            ringLock.lock();
+            try {
+                unwritten.forEach((minute, values) -> addTo(counts, resolution.unit, start, end, minute, values));
+                addOpenMinute(counts, resolution.unit, start, end);
+            } finally {
+                ringLock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        return counts;
+    }
+
+    // Called under ringLock, which the flush holds while it swaps the open minute
+    private void addOpenMinute(Map<LocalDateTime, long[]> counts, ChronoUnit unit, LocalDateTime start,
+                               LocalDateTime end) {
+        MinuteBucket open = current;
+        addTo(counts, unit, start, end, open.start, open.snapshot());
+    }
+
+    private static void addTo(Map<LocalDateTime, long[]> counts, ChronoUnit unit, LocalDateTime start,
+                              LocalDateTime end, LocalDateTime minute, long[] values) {
+        LocalDateTime bucket = minute.truncatedTo(unit);
+        if (!bucket.isBefore(start) && bucket.isBefore(end) && !isEmpty(values)) {
+            counts.merge(bucket, values, ActivityRollups::sum);
+        }
+    }
+
+    private static Object[] row(Resolution resolution, LocalDateTime minute, long[] counts) {
+        Object[] row = new Object[3 + METRICS];
+        row[0] = resolution.code;
+        row[1] = Timestamp.valueOf(minute.truncatedTo(resolution.unit));
+        for (int i = 0; i < METRICS; i++) {
+            row[2 + i] = counts[i];
+        }
+        row[2 + METRICS] = Timestamp.valueOf(minute);
+        return row;
+    }
+
+    private static String addIfNewer(String column) {
+        return column + " = IF(new.last_flushed_minute > " + TABLE + ".last_flushed_minute, " +
+                TABLE + "." + column + " + new." + column + ", " + TABLE + "." + column + ")";
+    }
+
+    private static long epochMinute(LocalDateTime minute) {
+        return minute.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static int slot(LocalDateTime minute) {
+        return (int) Math.floorMod(epochMinute(minute), (long) RING_MINUTES);
+    }
+
+    private static boolean isEmpty(long[] counts) {
+        for (long count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        long[] total = new long[METRICS];
+        for (int i = 0; i < METRICS; i++) {
+            total[i] = a[i] + b[i];
+        }
+        return total;
+    }
+
+    private static final class MinuteBucket {
+        private final LocalDateTime start;
+        private final LongAdder[] counts = new LongAdder[METRICS];
+
+        private MinuteBucket(LocalDateTime start) {
+            this.start = start;
+            for (int i = 0; i < METRICS; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        private long[] snapshot() {
+            long[] values = new long[METRICS];
+            for (int i = 0; i < METRICS; i++) {
+                values[i] = counts[i].sum();
+            }
+            return values;
+        }
+    }
+}
@@ -1,36 +1,23 @@
 package com.webblog.service;
 
 import com.webblog.dto.AdminStatsDto;
-import com.webblog.entity.ReportStatus;
-import com.webblog.repository.CommentRepository;
-import com.webblog.repository.PostRepository;
-import com.webblog.repository.ReportRepository;
-import com.webblog.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AdminService {
     @Autowired
-    private UserRepository userRepository;
-
-    @Autowired
-    private PostRepository postRepository;
-
-    @Autowired
-    private CommentRepository commentRepository;
-
-    @Autowired
-    private ReportRepository reportRepository;
+    private StatsCounters statsCounters;
 
+    /**
+     * Served from the in-memory counters; see {@link StatsCounters} for how they are kept up to date.
+     */
     public AdminStatsDto getStats() {
-        long totalUsers = userRepository.count();
-        long totalPosts = postRepository.count();
-        long totalComments = commentRepository.count();
-        long totalReports = reportRepository.count();
-        long pendingReports = reportRepository.countByStatus(ReportStatus.PENDING);
-
-        return new AdminStatsDto(totalUsers, totalPosts, totalComments, totalReports, pendingReports);
+        return new AdminStatsDto(
+                statsCounters.get(StatsCounters.Counter.USERS),
+                statsCounters.get(StatsCounters.Counter.POSTS),
+                statsCounters.get(StatsCounters.Counter.COMMENTS),
+                statsCounters.get(StatsCounters.Counter.REPORTS),
+                statsCounters.get(StatsCounters.Counter.PENDING_REPORTS));
     }
 }
-
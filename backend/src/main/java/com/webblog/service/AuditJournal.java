@@ -0,0 +1,426 @@
+package com.webblog.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Append-only audit storage in memory-mapped segment files, used instead of the audit_logs table when
+ * webblog.audit.journal.enabled is set.
+ *
+ * A new segment is started when the current one is full or older than the segment duration, and whole
+ * segments are deleted once their newest record is past the retention period. Each segment keeps an
+ * in-memory index of record offsets by actor and by (entityType, entityId), rebuilt by scanning the file
+ * on startup, so a lookup only reads the records it returns and skips segments without the key.
+ *
+ * Record layout: int bodyLength, long timestampMillis, long actorId, long entityId, short actionLength,
+ * action (UTF-8), short entityTypeLength, entityType (UTF-8). Null ids are stored as Long.MIN_VALUE. Each
+ * record is followed by a zero length and its own length is written last, so a zero length marks the end
+ * of the segment, even after a torn write.
+ */
+@Component
+@ConditionalOnProperty(name = "webblog.audit.journal.enabled", havingValue = "true")
+public class AuditJournal {
+    private static final Logger log = LoggerFactory.getLogger(AuditJournal.class);
+
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final long NULL_ID = Long.MIN_VALUE;
+    private static final int LENGTH_BYTES = 4;
+    private static final int FIXED_BODY_BYTES = 8 + 8 + 8 + 2 + 2;
+
+    @Value("${webblog.audit.journal.dir:data/audit-journal}")
+    private String directory;
+
+    @Value("${webblog.audit.journal.segment-size-bytes:67108864}")
+    private int segmentSizeBytes;
+
+    @Value("${webblog.audit.journal.segment-duration-ms:86400000}")
+    private long segmentDurationMillis;
+
+    @Value("${webblog.audit.journal.retention-ms:7776000000}")
+    private long retentionMillis;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Oldest first; the last one is appended to. Guarded by lock
+    private final List<Segment> segments = new ArrayList<>();
+
+    public static class Entry {
+        private final LocalDateTime timestamp;
+        private final Long actorId;
+        private final String action;
+        private final String entityType;
+        private final Long entityId;
+
+        public Entry(LocalDateTime timestamp, Long actorId, String action, String entityType, Long entityId) {
+            this.timestamp = timestamp;
+            this.actorId = actorId;
+            this.action = action;
+            this.entityType = entityType;
+            this.entityId = entityId;
+        }
+
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        public Long getActorId() {
+            return actorId;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public String getEntityType() {
+            return entityType;
+        }
+
+        public Long getEntityId() {
+            return entityId;
+        }
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path root = Paths.get(directory);
+        Files.createDirectories(root);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(root)) {
+            files = listing.filter(AuditJournal::isSegmentFile)
+                    .sorted(Comparator.comparingLong(AuditJournal::startMillisOf))
+                    .toList();
+        }
+        for (Path file : files) {
+            segments.add(Segment.open(file, startMillisOf(file), (int) Math.max(Files.size(file), segmentSizeBytes)));
+        }
+        log.info("Audit journal opened with {} segments in {}", segments.size(), root.toAbsolutePath());
+    }
+
+    /**
+     * Appends the entries in order and forces them to disk. All or nothing: if any entry fails, the ones
+     * already appended are rolled back, so a retry of the whole batch does not duplicate them.
+     */
+    public void append(List<Entry> entries) {
+        lock.writeLock().lock();
+        try {
+            int segmentCount = segments.size();
+            Segment first = segments.isEmpty() ? null : segments.get(segmentCount - 1);
+            int firstPosition = first != null ? first.position : 0;
+            long firstLastMillis = first != null ? first.lastMillis : 0;
+            try {
+                Segment active = null;
+                for (Entry entry : entries) {
+                    byte[] action = encode(entry.action);
+                    byte[] entityType = encode(entry.entityType);
+                    int recordBytes = LENGTH_BYTES + FIXED_BODY_BYTES + action.length + entityType.length;
+                    if (recordBytes > segmentSizeBytes) {
+                        throw new IllegalArgumentException("Audit record of " + recordBytes + " bytes exceeds the segment size");
+                    }
+                    long millis = toMillis(entry.timestamp);
+                    active = activeSegment(millis, recordBytes);
+                    active.append(millis, entry.actorId, entry.entityId, action, entityType);
+                }
+                if (active != null) {
+                    active.buffer.force();
+                }
+            } catch (IOException | RuntimeException e) {
+                rollBack(segmentCount, first, firstPosition, firstLastMillis);
+                throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Detaches the actor from every entry, as clearing audit_logs.actor_id does for the table: the entries
+     * stay, with a null actor. The actor ids are rewritten in place in the segment files.
+     */
+    public void clearActor(Long actorId) {
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments) {
+                segment.clearActor(actorId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Entries by the given actor, newest first.
+     */
+    public List<Entry> findByActorId(Long actorId) {
+        return find(segment -> segment.byActor.get(actorId));
+    }
+
+    /**
+     * Entries about the given entity, newest first.
+     */
+    public List<Entry> findByEntity(String entityType, Long entityId) {
+        String key = entityKey(entityType, entityId);
+        return find(segment -> segment.byEntity.get(key));
+    }
+
+    @Scheduled(fixedDelayString = "${webblog.audit.journal.retention-check-ms:3600000}")
+    public void deleteExpiredSegments() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        List<Segment> expired = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            // Never the active segment
+            while (segments.size() > 1 && segments.get(0).lastMillis < cutoff) {
+                expired.add(segments.remove(0));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (Segment segment : expired) {
+            try {
+                segment.channel.close();
+                Files.deleteIfExists(segment.path);
+                log.info("Deleted expired audit segment {}", segment.path.getFileName());
+            } catch (IOException e) {
+                log.warn("Failed to delete audit segment {}", segment.path, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments) {
+                try {
+                    segment.buffer.force();
+                    segment.channel.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close audit segment {}", segment.path, e);
+                }
+            }
+            segments.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Entry> find(Function<Segment, List<Integer>> offsetsOf) {
+        List<Entry> entries = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                Segment segment = segments.get(i);
+                List<Integer> offsets = offsetsOf.apply(segment);
+                if (offsets == null) {
+                    continue;
+                }
+                for (int j = offsets.size() - 1; j >= 0; j--) {
+                    entries.add(segment.read(offsets.get(j)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Append order follows the writer, which can be slightly behind the timestamps
+        entries.sort(Comparator.comparing(Entry::getTimestamp).reversed());
+        return entries;
+    }
+
+    // Drops segments opened by a failed append and truncates the one it started in. Guarded by the write lock
+    private void rollBack(int segmentCount, Segment first, int firstPosition, long firstLastMillis) {
+        while (segments.size() > segmentCount) {
+            Segment opened = segments.remove(segments.size() - 1);
+            try {
+                opened.channel.close();
+                Files.deleteIfExists(opened.path);
+            } catch (IOException e) {
+                log.warn("Failed to remove audit segment {} after a failed append", opened.path, e);
+            }
+        }
+        if (first != null) {
+            first.truncate(firstPosition, firstLastMillis);
+            first.buffer.force();
+        }
+    }
+
+    private Segment activeSegment(long millis, int recordBytes) throws IOException {
+        Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (active != null && active.fits(recordBytes) && millis - active.startMillis < segmentDurationMillis) {
+            return active;
+        }
+        if (active != null) {
+            active.buffer.force();
+        }
+        long start = active != null ? Math.max(millis, active.startMillis + 1) : millis;
+        Path path = Paths.get(directory, SEGMENT_PREFIX + start + SEGMENT_SUFFIX);
+        Segment rolled = Segment.open(path, start, segmentSizeBytes);
+        segments.add(rolled);
+        return rolled;
+    }
+
+    private static byte[] encode(String value) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Audit field exceeds " + Short.MAX_VALUE + " bytes");
+        }
+        return bytes;
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String entityKey(String entityType, Long entityId) {
+        return entityType + '\u0000' + entityId;
+    }
+
+    private static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long startMillisOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long startMillis;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final Map<Long, List<Integer>> byActor = new HashMap<>();
+        private final Map<String, List<Integer>> byEntity = new HashMap<>();
+        private int position;
+        private long lastMillis;
+
+        private Segment(Path path, long startMillis, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.startMillis = startMillis;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.lastMillis = startMillis;
+        }
+
+        private static Segment open(Path path, long startMillis, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            Segment segment = new Segment(path, startMillis, channel,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+            segment.recover();
+            return segment;
+        }
+
+        private void recover() {
+            while (position + LENGTH_BYTES <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length < FIXED_BODY_BYTES || position + LENGTH_BYTES + length > buffer.capacity()) {
+                    break;
+                }
+                Entry entry = read(position);
+                index(position, entry.actorId, entry.entityType, entry.entityId, toMillis(entry.timestamp));
+                position += LENGTH_BYTES + length;
+            }
+        }
+
+        private boolean fits(int recordBytes) {
+            // Leave room for the zero length that terminates the segment
+            return position + recordBytes + LENGTH_BYTES <= buffer.capacity();
+        }
+
+        private void append(long millis, Long actorId, Long entityId, byte[] action, byte[] entityType) {
+            int offset = position;
+            int body = offset + LENGTH_BYTES;
+            buffer.putLong(body, millis);
+            buffer.putLong(body + 8, actorId != null ? actorId : NULL_ID);
+            buffer.putLong(body + 16, entityId != null ? entityId : NULL_ID);
+            buffer.putShort(body + 24, (short) action.length);
+            buffer.put(body + 26, action);
+            int typeAt = body + 26 + action.length;
+            buffer.putShort(typeAt, (short) entityType.length);
+            buffer.put(typeAt + 2, entityType);
+            int length = FIXED_BODY_BYTES + action.length + entityType.length;
+            int next = offset + LENGTH_BYTES + length;
+            // Terminate first, in case bytes of an earlier torn write follow, then publish the record
+            buffer.putInt(next, 0);
+            buffer.putInt(offset, length);
+            position = next;
+            index(offset, actorId, new String(entityType, StandardCharsets.UTF_8), entityId, millis);
+        }
+
+        private void truncate(int to, long restoredLastMillis) {
+            // A zero length at the old end hides anything appended after it, also after a restart
+            buffer.putInt(to, 0);
+            position = to;
+            lastMillis = restoredLastMillis;
+            byActor.values().forEach(offsets -> offsets.removeIf(offset -> offset >= to));
+            byActor.values().removeIf(List::isEmpty);
+            byEntity.values().forEach(offsets -> offsets.removeIf(offset -> offset >= to));
+            byEntity.values().removeIf(List::isEmpty);
+        }
+
+        private void clearActor(Long actorId) {
+            List<Integer> offsets = byActor.remove(actorId);
+            if (offsets == null) {
+                return;
+            }
+            for (int offset : offsets) {
+                buffer.putLong(offset + LENGTH_BYTES + 8, NULL_ID);
+            }
+            buffer.force();
+        }
+
+        private void index(int offset, Long actorId, String entityType, Long entityId, long millis) {
+            if (actorId != null) {
+                byActor.computeIfAbsent(actorId, id -> new ArrayList<>()).add(offset);
+            }
+            byEntity.computeIfAbsent(entityKey(entityType, entityId), key -> new ArrayList<>()).add(offset);
+            lastMillis = Math.max(lastMillis, millis);
+        }
+
+        private Entry read(int offset) {
+            int body = offset + LENGTH_BYTES;
+            long millis = buffer.getLong(body);
+            long actorId = buffer.getLong(body + 8);
+            long entityId = buffer.getLong(body + 16);
+            byte[] action = new byte[buffer.getShort(body + 24)];
+            buffer.get(body + 26, action);
+            int typeAt = body + 26 + action.length;
+            byte[] entityType = new byte[buffer.getShort(typeAt)];
+            buffer.get(typeAt + 2, entityType);
+            return new Entry(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()),
+                    actorId != NULL_ID ? actorId : null,
+                    new String(action, StandardCharsets.UTF_8),
+                    new String(entityType, StandardCharsets.UTF_8),
+                    entityId != NULL_ID ? entityId : null);
+        }
+    }
+}
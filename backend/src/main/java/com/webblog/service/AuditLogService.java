@@ -1,37 +1,29 @@
 package com.webblog.service;
 
-import com.webblog.entity.AuditLog;
-import com.webblog.entity.User;
-import com.webblog.repository.AuditLogRepository;
-import com.webblog.repository.UserRepository;
+import com.webblog.security.AuthenticatedUser;
+import com.webblog.security.CurrentUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Service
-@Transactional
 public class AuditLogService {
     @Autowired
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUserResolver currentUserResolver;
 
+    /**
+     * Records an action by the current user (null actor when anonymous). The entry is queued once the
+     * caller's transaction commits and written in the background, so a rolled-back action is never logged
+     * and the caller pays no database round trips.
+     */
     public void logAction(String action, String entityType, Long entityId) {
-        User actor = null;
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated() && !authentication.getName().equals("anonymousUser")) {
-                actor = userRepository.findByEmail(authentication.getName()).orElse(null);
-            }
-        } catch (Exception e) {
-            // Ignore if user not found or not authenticated
-        }
-
-        AuditLog log = new AuditLog(actor, action, entityType, entityId);
-        auditLogRepository.save(log);
+        AuthenticatedUser principal = currentUserResolver.getCurrentPrincipalOrNull();
+        Long actorId = principal != null ? principal.getId() : null;
+        LocalDateTime timestamp = LocalDateTime.now();
+        TransactionCallbacks.afterCommit(() -> auditLogWriter.enqueue(actorId, action, entityType, entityId, timestamp));
     }
 }
-
@@ -0,0 +1,288 @@
+package com.webblog.service;
+
+import com.webblog.dto.AuditStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Queues audit entries in memory and writes them to audit_logs in JDBC batches (or to the
+ * {@link AuditJournal} when enabled) off the request path.
+ *
+ * The queue is lock-free and bounded: when it is full, new entries are dropped and counted rather than
+ * blocking the request that produced them. At shutdown the queue is flushed with bounded retries before
+ * the data source closes; whatever still cannot be written is spilled to a local file, which is written
+ * and removed on the next start.
+ */
+@Component
+public class AuditLogWriter {
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (actor_id, action, entity_type, entity_id, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Replaces the audit_logs table when webblog.audit.journal.enabled is set
+    @Autowired(required = false)
+    private AuditJournal auditJournal;
+
+    @Value("${webblog.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${webblog.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${webblog.audit.shutdown-attempts:5}")
+    private int shutdownAttempts;
+
+    @Value("${webblog.audit.shutdown-backoff-ms:200}")
+    private long shutdownBackoffMillis;
+
+    @Value("${webblog.audit.spill-file:data/audit-spill.tsv}")
+    private String spillFile;
+
+    private final Queue<Object[]> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() is O(n), so the bound is tracked separately
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Lock flushLock = new ReentrantLock();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    /**
+     * Queues an entry, or drops it if the queue is full. Returns whether it was queued.
+     */
+    public boolean enqueue(Long actorId, String action, String entityType, Long entityId, LocalDateTime timestamp) {
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        queue.offer(new Object[]{actorId, action, entityType, entityId, Timestamp.valueOf(timestamp)});
+        enqueued.increment();
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${webblog.audit.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Object[]> batch;
+            do {
+                batch = drain();
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+            } while (batch.size() == batchSize);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Detaches a deleted user from the entries still queued and, with the journal, from the stored ones;
+     * the audit_logs rows are cleared by AuditLogRepository.clearActor in the deleting transaction.
+     */
+    public void clearActor(Long actorId) {
+        flushLock.lock();
+        try {
+            for (Object[] entry : queue) {
+                if (actorId.equals(entry[0])) {
+                    entry[0] = null;
+                }
+            }
+            if (auditJournal != null) {
+                auditJournal.clearActor(actorId);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public AuditStatsDto getStats() {
+        return new AuditStatsDto(queued.get(), queueCapacity, enqueued.sum(), written.sum(), dropped.sum(),
+                failedBatches.sum());
+    }
+
+    /**
+     * Writes the entries spilled by the last shutdown, then removes the spill file. Entries that cannot be
+     * written stay in the file for the next start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replaySpill() {
+        Path path = Path.of(spillFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(path, StandardCharsets.UTF_8).stream().filter(line -> !line.isBlank()).toList();
+        } catch (IOException e) {
+            log.error("Failed to read spilled audit entries from {}", path, e);
+            return;
+        }
+        int replayed = 0;
+        try {
+            while (replayed < lines.size()) {
+                List<String> batch = lines.subList(replayed, Math.min(lines.size(), replayed + batchSize));
+                persist(batch.stream().map(AuditLogWriter::parseSpilled).toList());
+                replayed += batch.size();
+            }
+            Files.delete(path);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to replay spilled audit entries from {}, will retry on next start", path, e);
+            try {
+                // Keep only what was not written, so a retry does not duplicate entries
+                Files.write(path, lines.subList(replayed, lines.size()), StandardCharsets.UTF_8,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC);
+            } catch (IOException rewrite) {
+                log.error("Failed to rewrite {}; {} entries already written may be replayed again", path, replayed, rewrite);
+            }
+        }
+        written.add(replayed);
+        if (replayed > 0) {
+            log.info("Wrote {} audit entries spilled at the last shutdown", replayed);
+        }
+    }
+
+    /**
+     * Flushes the queue, retrying with exponential backoff up to webblog.audit.shutdown-attempts times,
+     * and spills any entries left over so they outlive the process.
+     */
+    @PreDestroy
+    public void shutdown() {
+        long backoff = shutdownBackoffMillis;
+        for (int attempt = 1; attempt <= shutdownAttempts; attempt++) {
+            try {
+                flush();
+                if (queued.get() == 0) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // Already logged by write()
+            }
+            if (attempt < shutdownAttempts) {
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff *= 2;
+            }
+        }
+        spill();
+    }
+
+    private void spill() {
+        List<Object[]> remaining = new ArrayList<>();
+        List<Object[]> batch;
+        do {
+            batch = drain();
+            remaining.addAll(batch);
+        } while (!batch.isEmpty());
+        if (remaining.isEmpty()) {
+            return;
+        }
+        List<String> lines = remaining.stream().map(AuditLogWriter::formatSpilled).toList();
+        try {
+            Path path = Path.of(spillFile).toAbsolutePath();
+            Files.createDirectories(path.getParent());
+            Files.write(path, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+            log.warn("Spilled {} unwritten audit entries to {}", remaining.size(), spillFile);
+        } catch (IOException e) {
+            dropped.add(remaining.size());
+            log.error("Lost {} audit entries: could not write them or spill them to {}", remaining.size(), spillFile, e);
+        }
+    }
+
+    private List<Object[]> drain() {
+        List<Object[]> batch = new ArrayList<>(Math.min(batchSize, Math.max(queued.get(), 1)));
+        Object[] entry;
+        while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+            batch.add(entry);
+        }
+        queued.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void write(List<Object[]> batch) {
+        try {
+            persist(batch);
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            // Requeue for the next flush; entries that no longer fit are dropped
+            failedBatches.increment();
+            log.warn("Failed to write {} audit entries, will retry", batch.size(), e);
+            for (Object[] entry : batch) {
+                if (queued.incrementAndGet() > queueCapacity) {
+                    queued.decrementAndGet();
+                    dropped.increment();
+                } else {
+                    queue.offer(entry);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void persist(List<Object[]> batch) {
+        if (auditJournal != null) {
+            auditJournal.append(batch.stream()
+                    .map(row -> new AuditJournal.Entry(((Timestamp) row[4]).toLocalDateTime(), (Long) row[0],
+                            (String) row[1], (String) row[2], (Long) row[3]))
+                    .toList());
+        } else {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+    }
+
+    // timestamp, actorId, action, entityType, entityId; tab-separated with "-" for null
+    private static String formatSpilled(Object[] row) {
+        return ((Timestamp) row[4]).toLocalDateTime() + "\t" + orDash(row[0]) + "\t" + orDash(row[1]) + "\t"
+                + orDash(row[2]) + "\t" + orDash(row[3]);
+    }
+
+    private static Object[] parseSpilled(String line) {
+        String[] fields = line.split("\t", -1);
+        return new Object[]{
+                "-".equals(fields[1]) ? null : Long.valueOf(fields[1]),
+                "-".equals(fields[2]) ? null : fields[2],
+                "-".equals(fields[3]) ? null : fields[3],
+                "-".equals(fields[4]) ? null : Long.valueOf(fields[4]),
+                Timestamp.valueOf(LocalDateTime.parse(fields[0]))
+        };
+    }
+
+    private static String orDash(Object value) {
+        return value != null ? value.toString().replace('\t', ' ').replace('\n', ' ') : "-";
+    }
+}
@@ -0,0 +1,154 @@
+package com.webblog.service;
+
+import com.webblog.dto.CategoryDto;
+import com.webblog.entity.Category;
+import com.webblog.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Immutable in-memory copy of the categories table. Readers take whatever {@link Snapshot} is current
+ * without locking; creates, renames and deletes are applied after commit by swapping in a new snapshot.
+ */
+@Component
+public class CategoryCatalog {
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final Lock lock = new ReentrantLock();
+    // Null until first loaded
+    private volatile Snapshot snapshot;
+    // Bumped by every change, so a load that raced one is not installed over it
+    private long generation;
+
+    private static final class Entry {
+        private final Long id;
+        private final String name;
+        private final long version;
+
+        private Entry(Category category) {
+            this.id = category.getId();
+            this.name = category.getName();
+            this.version = category.getVersion();
+        }
+    }
+
+    public static final class Snapshot {
+        private final Map<Long, Entry> byId;
+        private final List<CategoryDto> categories;
+        private final String etag;
+
+        private Snapshot(Collection<Entry> source) {
+            List<Entry> sorted = new ArrayList<>(source);
+            sorted.sort(Comparator.comparing(entry -> entry.id));
+            Map<Long, Entry> byId = new LinkedHashMap<>();
+            List<CategoryDto> categories = new ArrayList<>(sorted.size());
+            long idSum = 0;
+            long versionSum = 0;
+            for (Entry entry : sorted) {
+                byId.put(entry.id, entry);
+                categories.add(new CategoryDto(entry.id, entry.name));
+                idSum += entry.id;
+                versionSum += entry.version;
+            }
+            this.byId = Collections.unmodifiableMap(byId);
+            this.categories = Collections.unmodifiableList(categories);
+            this.etag = "categories-" + sorted.size() + "." + idSum + "." + versionSum;
+        }
+
+        public List<CategoryDto> getCategories() {
+            return categories;
+        }
+
+        public CategoryDto get(Long id) {
+            Entry entry = byId.get(id);
+            return entry != null ? new CategoryDto(entry.id, entry.name) : null;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+    /**
+     * The current snapshot, or null while the catalog is cold.
+     */
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * The current snapshot, loading it from the database first if the catalog is cold.
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : load();
+    }
+
+    /**
+     * Reads the whole table into a new snapshot. It is not installed if a change was applied while the
+     * table was being read, since the read may predate that change.
+     */
+    public Snapshot load() {
+        long readAt;
+        lock.lock();
+        try {
+            readAt = generation;
+        } finally {
+            lock.unlock();
+        }
+
+        List<Category> categories = categoryRepository.findAll();
+        Snapshot loaded = new Snapshot(categories.stream().map(Entry::new).toList());
+        lock.lock();
+        try {
+            if (generation == readAt) {
+                snapshot = loaded;
+            }
+            return snapshot != null ? snapshot : loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a category once the surrounding transaction commits.
+     */
+    public void putAfterCommit(Category category) {
+        // Read the entity after commit, once the flush has bumped its version
+        TransactionCallbacks.afterCommit(() -> update(category.getId(), new Entry(category)));
+    }
+
+    public void removeAfterCommit(Long id) {
+        TransactionCallbacks.afterCommit(() -> update(id, null));
+    }
+
+    private void update(Long id, Entry entry) {
+        lock.lock();
+        try {
+            generation++;
+            if (snapshot == null) {
+                return;
+            }
+            Map<Long, Entry> next = new LinkedHashMap<>(snapshot.byId);
+            if (entry != null) {
+                next.put(id, entry);
+            } else {
+                next.remove(id);
+            }
+            snapshot = new Snapshot(next.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
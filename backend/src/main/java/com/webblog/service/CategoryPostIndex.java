@@ -0,0 +1,239 @@
+package com.webblog.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Category id to post id bitmaps mirroring the post_categories join table, so per-category counts and
+ * multi-category AND/OR filters are bitmap operations instead of joins.
+ *
+ * Each bitmap is split into fixed-size chunks and is copy-on-write per chunk: readers use whatever
+ * bitmap is current without locking, and a writer swaps in a copy that shares every chunk but the one it
+ * changed, so a write costs one chunk rather than the whole bitmap.
+ */
+@Component
+public class CategoryPostIndex {
+    private static final int CHUNK_BITS = 1 << 16;
+    private static final int CHUNK_WORDS = CHUNK_BITS / Long.SIZE;
+
+    // Replaced whole by a rebuild; writers hold writeLock
+    private volatile Map<Long, Bitmap> postsByCategory = new ConcurrentHashMap<>();
+    private final Lock writeLock = new ReentrantLock();
+    // Non-null while a rebuild is running: writes made meanwhile are replayed onto the rebuilt map
+    private List<Consumer<Map<Long, Bitmap>>> replayLog;
+
+    /**
+     * Replaces every bitmap with the (post id, category id) pairs {@code loader} feeds in. Readers keep
+     * using the old bitmaps until the new ones are complete, and writes that happen during the rebuild
+     * are not lost.
+     */
+    public void rebuild(Consumer<BiConsumer<Long, Long>> loader) {
+        writeLock.lock();
+        try {
+            replayLog = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Map<Long, BitSet> bits = new HashMap<>();
+        try {
+            loader.accept((postId, categoryId) -> bits.computeIfAbsent(categoryId, id -> new BitSet()).set(toBit(postId)));
+        } catch (RuntimeException e) {
+            writeLock.lock();
+            try {
+                replayLog = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw e;
+        }
+        Map<Long, Bitmap> fresh = new ConcurrentHashMap<>();
+        bits.forEach((categoryId, posts) -> fresh.put(categoryId, Bitmap.of(posts)));
+
+        writeLock.lock();
+        try {
+            replayLog.forEach(mutation -> mutation.accept(fresh));
+            replayLog = null;
+            postsByCategory = fresh;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void addPost(Long postId, Collection<Long> categoryIds) {
+        int bit = toBit(postId);
+        mutate(bitmaps -> categoryIds.forEach(categoryId ->
+                bitmaps.compute(categoryId, (id, current) -> (current == null ? Bitmap.EMPTY : current).with(bit))));
+    }
+
+    public void removePost(Long postId) {
+        BitSet bits = new BitSet();
+        bits.set(toBit(postId));
+        removeBits(bits);
+    }
+
+    /**
+     * As {@link #removePost(Long)} for many posts, copying each affected chunk once.
+     */
+    public void removePosts(Collection<Long> postIds) {
+        BitSet bits = new BitSet();
+        postIds.forEach(postId -> bits.set(toBit(postId)));
+        removeBits(bits);
+    }
+
+    public void removeCategory(Long categoryId) {
+        mutate(bitmaps -> bitmaps.remove(categoryId));
+    }
+
+    public Map<Long, Long> countsByCategory() {
+        Map<Long, Long> counts = new HashMap<>();
+        postsByCategory.forEach((categoryId, posts) -> counts.put(categoryId, posts.cardinality));
+        return counts;
+    }
+
+    /**
+     * Ids of the posts that belong to all ({@code matchAll}) or any of the categories, as a bitmap.
+     */
+    public BitSet findMatches(Collection<Long> categoryIds, boolean matchAll) {
+        Map<Long, Bitmap> current = postsByCategory;
+        List<Bitmap> bitmaps = categoryIds.stream()
+                .map(categoryId -> current.getOrDefault(categoryId, Bitmap.EMPTY))
+                .collect(Collectors.toList());
+        if (bitmaps.isEmpty()) {
+            return new BitSet();
+        }
+        int chunkCount = 0;
+        for (Bitmap bitmap : bitmaps) {
+            chunkCount = matchAll && chunkCount > 0
+                    ? Math.min(chunkCount, bitmap.chunks.length)
+                    : Math.max(chunkCount, bitmap.chunks.length);
+        }
+
+        long[] words = new long[chunkCount * CHUNK_WORDS];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            BitSet combined = null;
+            for (Bitmap bitmap : bitmaps) {
+                BitSet posts = bitmap.chunk(chunk);
+                if (combined == null) {
+                    combined = (BitSet) posts.clone();
+                } else if (matchAll) {
+                    combined.and(posts);
+                } else {
+                    combined.or(posts);
+                }
+            }
+            long[] chunkWords = combined.toLongArray();
+            System.arraycopy(chunkWords, 0, words, chunk * CHUNK_WORDS, chunkWords.length);
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private void removeBits(BitSet bits) {
+        mutate(bitmaps -> bitmaps.replaceAll((categoryId, current) -> current.without(bits)));
+    }
+
+    private void mutate(Consumer<Map<Long, Bitmap>> mutation) {
+        writeLock.lock();
+        try {
+            mutation.accept(postsByCategory);
+            if (replayLog != null) {
+                replayLog.add(mutation);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static int toBit(Long postId) {
+        if (postId > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Post id " + postId + " exceeds the category index range");
+        }
+        return postId.intValue();
+    }
+
+    /**
+     * Immutable chunked bitmap; chunk i holds bits [i * CHUNK_BITS, (i + 1) * CHUNK_BITS) and may be null
+     * when empty.
+     */
+    private static final class Bitmap {
+        static final Bitmap EMPTY = new Bitmap(new BitSet[0], 0);
+        private static final BitSet NO_BITS = new BitSet();
+
+        private final BitSet[] chunks;
+        private final long cardinality;
+
+        private Bitmap(BitSet[] chunks, long cardinality) {
+            this.chunks = chunks;
+            this.cardinality = cardinality;
+        }
+
+        static Bitmap of(BitSet bits) {
+            BitSet[] chunks = new BitSet[(bits.length() + CHUNK_BITS - 1) / CHUNK_BITS];
+            for (int chunk = 0; chunk < chunks.length; chunk++) {
+                BitSet part = bits.get(chunk * CHUNK_BITS, chunkEnd(chunk));
+                chunks[chunk] = part.isEmpty() ? null : part;
+            }
+            return new Bitmap(chunks, bits.cardinality());
+        }
+
+        BitSet chunk(int chunk) {
+            BitSet posts = chunk < chunks.length ? chunks[chunk] : null;
+            return posts != null ? posts : NO_BITS;
+        }
+
+        Bitmap with(int bit) {
+            int chunk = bit / CHUNK_BITS;
+            if (chunk(chunk).get(bit % CHUNK_BITS)) {
+                return this;
+            }
+            BitSet[] updated = Arrays.copyOf(chunks, Math.max(chunks.length, chunk + 1));
+            BitSet posts = (BitSet) chunk(chunk).clone();
+            posts.set(bit % CHUNK_BITS);
+            updated[chunk] = posts;
+            return new Bitmap(updated, cardinality + 1);
+        }
+
+        Bitmap without(BitSet bits) {
+            BitSet[] updated = null;
+            long removed = 0;
+            // Visits only the chunks that hold at least one of the bits
+            for (int bit = bits.nextSetBit(0); bit >= 0 && bit / CHUNK_BITS < chunks.length;
+                 bit = chunkEnd(bit / CHUNK_BITS) < Integer.MAX_VALUE ? bits.nextSetBit(chunkEnd(bit / CHUNK_BITS)) : -1) {
+                int chunk = bit / CHUNK_BITS;
+                BitSet posts = chunks[chunk];
+                if (posts == null) {
+                    continue;
+                }
+                BitSet cleared = bits.get(chunk * CHUNK_BITS, chunkEnd(chunk));
+                if (!posts.intersects(cleared)) {
+                    continue;
+                }
+                BitSet remaining = (BitSet) posts.clone();
+                remaining.andNot(cleared);
+                if (updated == null) {
+                    updated = chunks.clone();
+                }
+                updated[chunk] = remaining.isEmpty() ? null : remaining;
+                removed += posts.cardinality() - remaining.cardinality();
+            }
+            return updated == null ? this : new Bitmap(updated, cardinality - removed);
+        }
+
+        private static int chunkEnd(int chunk) {
+            return (int) Math.min(Integer.MAX_VALUE, (long) (chunk + 1) * CHUNK_BITS);
+        }
+    }
+}
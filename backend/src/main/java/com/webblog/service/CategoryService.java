@@ -1,15 +1,22 @@
 package com.webblog.service;
 
 import com.webblog.dto.CategoryDto;
+import com.webblog.dto.PostDto;
+import com.webblog.dto.ResourceVersion;
 import com.webblog.entity.Category;
 import com.webblog.mapper.CategoryMapper;
 import com.webblog.repository.CategoryRepository;
+import com.webblog.repository.PostRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -20,16 +27,66 @@ public class CategoryService {
     @Autowired
     private CategoryMapper categoryMapper;
 
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CategoryPostIndex categoryPostIndex;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    /**
+     * ETag for the category list. There is no Last-Modified: a deletion leaves no timestamp behind.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ResourceVersion getCategoriesVersion() {
+        return new ResourceVersion(categoryCatalog.snapshot().getEtag(), -1);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CategoryDto> getAllCategories() {
-        return categoryRepository.findAll().stream()
-                .map(categoryMapper::toDto)
-                .collect(Collectors.toList());
+        return categoryCatalog.snapshot().getCategories();
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCatalog() {
+        categoryCatalog.load();
+    }
+
+    public Map<Long, Long> getPostCountsByCategory() {
+        return categoryPostIndex.countsByCategory();
+    }
+
+    /**
+     * Loads the category-to-post bitmaps from post_categories.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildPostIndex() {
+        categoryPostIndex.rebuild(sink -> {
+            try (Stream<Object[]> pairs = postRepository.streamPostCategoryPairs()) {
+                pairs.forEach(pair -> sink.accept((Long) pair[0], (Long) pair[1]));
+            }
+        });
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CategoryDto getCategoryById(Long id) {
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Category not found"));
-        return categoryMapper.toDto(category);
+        CategoryDto category = categoryCatalog.snapshot().get(id);
+        if (category == null) {
+            throw new RuntimeException("Category not found");
+        }
+        return category;
     }
 
     public CategoryDto createCategory(CategoryDto categoryDto) {
@@ -39,6 +96,8 @@ public class CategoryService {
         Category category = new Category();
         category.setName(categoryDto.getName());
         Category savedCategory = categoryRepository.save(category);
+        categoryCatalog.putAfterCommit(savedCategory);
+        auditLogService.logAction("CREATE_CATEGORY", "CATEGORY", savedCategory.getId());
         return categoryMapper.toDto(savedCategory);
     }
 
@@ -51,8 +110,15 @@ public class CategoryService {
             throw new RuntimeException("Category name already exists");
         }
         
+        boolean renamed = !category.getName().equals(categoryDto.getName());
         category.setName(categoryDto.getName());
         Category updatedCategory = categoryRepository.save(category);
+        if (renamed) {
+            postSearchService.reindexAfterCommit(postRepository.findIdsByCategoryId(id));
+        }
+        categoryCatalog.putAfterCommit(updatedCategory);
+        postDetailCache.invalidateIf(post -> hasCategory(post, id));
+        auditLogService.logAction("UPDATE_CATEGORY", "CATEGORY", id);
         return categoryMapper.toDto(updatedCategory);
     }
 
@@ -60,7 +126,17 @@ public class CategoryService {
         if (!categoryRepository.existsById(id)) {
             throw new RuntimeException("Category not found");
         }
+        List<Long> postIds = postRepository.findIdsByCategoryId(id);
         categoryRepository.deleteById(id);
+        postSearchService.reindexAfterCommit(postIds);
+        TransactionCallbacks.afterCommit(() -> categoryPostIndex.removeCategory(id));
+        categoryCatalog.removeAfterCommit(id);
+        postDetailCache.invalidateIf(post -> hasCategory(post, id));
+        auditLogService.logAction("DELETE_CATEGORY", "CATEGORY", id);
+    }
+
+    private static boolean hasCategory(PostDto post, Long categoryId) {
+        return post.getCategories().stream().anyMatch(category -> categoryId.equals(category.getId()));
     }
 }
 
@@ -7,10 +7,10 @@ import com.webblog.entity.User;
 import com.webblog.mapper.UserMapper;
 import com.webblog.repository.CommentReplyRepository;
 import com.webblog.repository.CommentRepository;
-import com.webblog.repository.UserRepository;
+import com.webblog.repository.PostRepository;
+import com.webblog.security.AuthenticatedUser;
+import com.webblog.security.CurrentUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,16 +27,28 @@ public class CommentReplyService {
     private CommentRepository commentRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private PostRepository postRepository;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private ActivityRollups activityRollups;
 
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private AuditLogService auditLogService;
+
     public CommentReplyDto createReply(Long parentCommentId, CommentReplyDto replyDto) {
         Comment parentComment = commentRepository.findById(parentCommentId)
                 .orElseThrow(() -> new RuntimeException("Parent comment not found"));
         
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserResolver.getCurrentUserReference();
         
         CommentReply reply = new CommentReply();
         reply.setParentComment(parentComment);
@@ -44,6 +56,9 @@ public class CommentReplyService {
         reply.setContent(replyDto.getContent());
         
         CommentReply savedReply = commentReplyRepository.save(reply);
+        postRepository.adjustCommentCount(parentComment.getPost().getId(), 1);
+        userProfileCache.invalidate(currentUser.getId());
+        activityRollups.recordAfterCommit(ActivityRollups.Metric.COMMENTS);
         return toDto(savedReply);
     }
 
@@ -58,15 +73,21 @@ public class CommentReplyService {
         CommentReply reply = commentReplyRepository.findById(replyId)
                 .orElseThrow(() -> new RuntimeException("Reply not found"));
         
-        User currentUser = getCurrentUser();
-        boolean isAdmin = currentUser.getRole().name().equals("ROLE_ADMIN");
+        AuthenticatedUser currentUser = currentUserResolver.getCurrentPrincipal();
+        boolean isAdmin = currentUser.isAdmin();
         boolean isOwner = reply.getAuthor().getId().equals(currentUser.getId());
 
         if (!isAdmin && !isOwner) {
             throw new RuntimeException("You don't have permission to delete this reply");
         }
 
+        commentReplyRepository.findPostIdById(replyId)
+                .ifPresent(postId -> postRepository.adjustCommentCount(postId, -1));
         commentReplyRepository.deleteById(replyId);
+        userProfileCache.invalidate(reply.getAuthor().getId());
+        if (isAdmin && !isOwner) {
+            auditLogService.logAction("DELETE_REPLY", "COMMENT_REPLY", replyId);
+        }
     }
 
     private CommentReplyDto toDto(CommentReply reply) {
@@ -79,12 +100,5 @@ public class CommentReplyService {
         dto.setAuthorId(reply.getAuthor().getId());
         return dto;
     }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-    }
 }
 
@@ -1,28 +1,53 @@
 package com.webblog.service;
 
 import com.webblog.dto.CommentDto;
+import com.webblog.dto.CommentPageDto;
+import com.webblog.dto.CommentReplyDto;
+import com.webblog.dto.FeedCursor;
+import com.webblog.dto.ResourceVersion;
 import com.webblog.entity.Comment;
 import com.webblog.entity.Post;
+import com.webblog.entity.ReportStatus;
 import com.webblog.entity.User;
+import com.webblog.exception.ResourceNotFoundException;
 import com.webblog.mapper.CommentMapper;
+import com.webblog.repository.CommentReplyRepository;
 import com.webblog.repository.CommentRepository;
 import com.webblog.repository.PostRepository;
-import com.webblog.repository.UserRepository;
+import com.webblog.repository.ReportRepository;
+import com.webblog.security.AuthenticatedUser;
+import com.webblog.security.CurrentUserResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @Transactional
 public class CommentService {
+    private static final Logger log = LoggerFactory.getLogger(CommentService.class);
+
+    public static final int DEFAULT_COMMENT_PAGE_SIZE = 50;
+    public static final int MAX_COMMENT_PAGE_SIZE = 200;
+
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private CommentReplyRepository commentReplyRepository;
+
     @Autowired
     private CommentMapper commentMapper;
 
@@ -30,19 +55,88 @@ public class CommentService {
     private PostRepository postRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
 
+    @Autowired
+    private StatsCounters statsCounters;
+
+    @Autowired
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    /**
+     * Weak ETag for a post's comment list: a hash over every comment's id and version and its author's
+     * version, so adds, deletes, edits and author changes such as blocking all change it. There is no
+     * Last-Modified: a deletion leaves no timestamp behind.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getCommentsVersion(Long postId) {
+        List<Object[]> rows = commentRepository.findVersionRowsByPostId(postId);
+        ByteBuffer buffer = ByteBuffer.allocate(rows.size() * 3 * Long.BYTES);
+        for (Object[] row : rows) {
+            buffer.putLong((Long) row[0]).putLong((Long) row[1]).putLong((Long) row[2]);
+        }
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(buffer.array());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        String hash = HexFormat.of().formatHex(digest, 0, 12);
+        return new ResourceVersion("W/\"comments-" + postId + "-" + rows.size() + "-" + hash + "\"", -1);
+    }
+
+    @Transactional(readOnly = true)
     public List<CommentDto> getCommentsByPostId(Long postId) {
-        return commentRepository.findByPostId(postId).stream()
-                .map(commentMapper::toDto)
-                .collect(Collectors.toList());
+        return commentRepository.findCommentDtosByPostId(postId);
+    }
+
+    /**
+     * A page of the post's comment threads, oldest first: one query for the top-level comments and one for
+     * all of their replies, assembled in memory. nextCursor is null on the last page.
+     */
+    @Transactional(readOnly = true)
+    public CommentPageDto getCommentTree(Long postId, FeedCursor after, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_COMMENT_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<CommentDto> comments = after == null
+                ? commentRepository.findCommentDtosByPostId(postId, page)
+                : commentRepository.findCommentDtosByPostIdAfter(postId, after.getCreatedAt(), after.getId(), page);
+        if (comments.isEmpty()) {
+            // Only an empty page needs to tell a post without comments from a missing one
+            if (!postRepository.existsById(postId)) {
+                throw new ResourceNotFoundException("Post not found");
+            }
+            return new CommentPageDto(comments, null);
+        }
+
+        Map<Long, List<CommentReplyDto>> repliesByComment = new HashMap<>();
+        for (CommentDto comment : comments) {
+            comment.setReplies(new ArrayList<>());
+            repliesByComment.put(comment.getId(), comment.getReplies());
+        }
+        for (CommentReplyDto reply : commentReplyRepository.findReplyDtosByParentCommentIds(repliesByComment.keySet())) {
+            repliesByComment.get(reply.getParentCommentId()).add(reply);
+        }
+
+        CommentDto last = comments.get(comments.size() - 1);
+        String nextCursor = comments.size() == pageSize ? new FeedCursor(last.getCreatedAt(), last.getId()).encode() : null;
+        return new CommentPageDto(comments, nextCursor);
     }
 
     public CommentDto createComment(Long postId, CommentDto commentDto) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
         
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserResolver.getCurrentUserReference();
         
         Comment comment = new Comment();
         comment.setContent(commentDto.getContent());
@@ -50,6 +144,10 @@ public class CommentService {
         comment.setPost(post);
         
         Comment savedComment = commentRepository.save(comment);
+        postRepository.adjustCommentCount(postId, 1);
+        userProfileCache.invalidate(currentUser.getId());
+        statsCounters.recordAfterCommit(StatsCounters.Counter.COMMENTS, 1);
+        activityRollups.recordAfterCommit(ActivityRollups.Metric.COMMENTS);
         return commentMapper.toDto(savedComment);
     }
 
@@ -57,8 +155,8 @@ public class CommentService {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
         
-        User currentUser = getCurrentUser();
-        boolean isAdmin = currentUser.getRole().name().equals("ROLE_ADMIN");
+        AuthenticatedUser currentUser = currentUserResolver.getCurrentPrincipal();
+        boolean isAdmin = currentUser.isAdmin();
         boolean isOwner = comment.getAuthor().getId().equals(currentUser.getId());
 
         if (!isAdmin && !isOwner) {
@@ -74,22 +172,56 @@ public class CommentService {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
         
-        User currentUser = getCurrentUser();
-        boolean isAdmin = currentUser.getRole().name().equals("ROLE_ADMIN");
+        AuthenticatedUser currentUser = currentUserResolver.getCurrentPrincipal();
+        boolean isAdmin = currentUser.isAdmin();
         boolean isOwner = comment.getAuthor().getId().equals(currentUser.getId());
 
         if (!isAdmin && !isOwner) {
             throw new RuntimeException("You don't have permission to delete this comment");
         }
 
+        int replies = commentReplyRepository.deleteAllByParentCommentId(id);
+        long pendingReports = reportRepository.countByCommentIdAndStatus(id, ReportStatus.PENDING);
+        int reports = reportRepository.deleteAllByCommentId(id);
         commentRepository.deleteById(id);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.COMMENTS, -1);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.REPORTS, -reports);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.PENDING_REPORTS, -pendingReports);
+        postRepository.adjustCommentCount(comment.getPost().getId(), -(1 + replies));
+        userProfileCache.invalidate(comment.getAuthor().getId());
+        if (isAdmin && !isOwner) {
+            auditLogService.logAction("DELETE_COMMENT", "COMMENT", id);
+        }
     }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Keyset-paginated page of a post's top-level comments, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public CommentPageDto getCommentPage(Long postId, FeedCursor after, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_COMMENT_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<CommentDto> comments = after == null
+                ? commentRepository.findCommentDtosByPostId(postId, page)
+                : commentRepository.findCommentDtosByPostIdAfter(postId, after.getCreatedAt(), after.getId(), page);
+        String nextCursor = null;
+        if (comments.size() == pageSize) {
+            CommentDto last = comments.get(comments.size() - 1);
+            nextCursor = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CommentPageDto(comments, nextCursor);
+    }
+
+    /**
+     * Rewrites posts.comment_count wherever it has drifted from the comment tables, e.g. after rows were
+     * changed outside the services.
+     */
+    @Scheduled(fixedDelayString = "${webblog.comments.reconcile-interval-ms:3600000}")
+    public void reconcileCommentCounts() {
+        int repaired = postRepository.reconcileCommentCounts();
+        if (repaired > 0) {
+            log.info("Reconciled comment_count for {} posts", repaired);
+        }
     }
 }
 
@@ -0,0 +1,203 @@
+package com.webblog.service;
+
+import com.webblog.dto.ConnectionPoolStatsDto;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pool metrics: live active/idle/pending counts from the Hikari pool, plus histograms of how
+ * long requests wait for a connection and how long they hold one, recorded through Hikari's metrics
+ * tracker hook.
+ *
+ * A scheduled check logs a warning while threads are queuing for connections, and every connection held
+ * longer than {@code webblog.db.pool.long-hold-ms} is counted and logged with the thread that held it.
+ * Hikari's own leak detector (spring.datasource.hikari.leak-detection-threshold) additionally logs the
+ * stack trace that borrowed a connection still not returned.
+ */
+@Component
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolMetrics.class);
+
+    // Bucket upper bounds in milliseconds; the last bucket is unbounded
+    private static final long[] BUCKETS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${webblog.db.pool.long-hold-ms:5000}")
+    private long longHoldMillis;
+
+    private HikariDataSource hikariDataSource;
+
+    private final Histogram acquireTimes = new Histogram();
+    private final Histogram holdTimes = new Histogram();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder longHolds = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+
+    @PostConstruct
+    public void init() throws SQLException {
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+            hikariDataSource.setMetricsTrackerFactory(this);
+        } else {
+            log.warn("Data source is not a Hikari pool; connection pool metrics are disabled");
+        }
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                connectionsCreated.increment();
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireTimes.record(TimeUnit.NANOSECONDS.toMillis(elapsedAcquiredNanos));
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                holdTimes.record(elapsedBorrowedMillis);
+                if (elapsedBorrowedMillis >= longHoldMillis) {
+                    longHolds.increment();
+                    // Recorded on close, so this is the thread that held the connection
+                    log.warn("Connection held for {} ms by thread {}", elapsedBorrowedMillis,
+                            Thread.currentThread().getName());
+                }
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * Warns while requests are waiting for a connection, i.e. the pool is saturated.
+     */
+    @Scheduled(fixedDelayString = "${webblog.db.pool.check-interval-ms:10000}")
+    public void checkSaturation() {
+        HikariPoolMXBean pool = pool();
+        if (pool == null) {
+            return;
+        }
+        int pending = pool.getThreadsAwaitingConnection();
+        if (pending > 0) {
+            log.warn("Connection pool saturated: {} active, {} idle, {} threads waiting (max {}), p99 acquire {} ms",
+                    pool.getActiveConnections(), pool.getIdleConnections(), pending,
+                    hikariDataSource.getMaximumPoolSize(), acquireTimes.percentile(0.99));
+        }
+    }
+
+    public ConnectionPoolStatsDto getStats() {
+        ConnectionPoolStatsDto dto = new ConnectionPoolStatsDto();
+        HikariPoolMXBean pool = pool();
+        if (hikariDataSource != null) {
+            dto.setPoolName(hikariDataSource.getPoolName());
+            dto.setMaxPoolSize(hikariDataSource.getMaximumPoolSize());
+            dto.setMinIdle(hikariDataSource.getMinimumIdle());
+        }
+        if (pool != null) {
+            dto.setActive(pool.getActiveConnections());
+            dto.setIdle(pool.getIdleConnections());
+            dto.setTotal(pool.getTotalConnections());
+            dto.setPending(pool.getThreadsAwaitingConnection());
+        }
+        dto.setConnectionsCreated(connectionsCreated.sum());
+        dto.setAcquireCount(acquireTimes.count());
+        dto.setAcquireTimeouts(timeouts.sum());
+        dto.setAcquireP50Ms(acquireTimes.percentile(0.5));
+        dto.setAcquireP99Ms(acquireTimes.percentile(0.99));
+        dto.setAcquireTimeHistogram(acquireTimes.snapshot());
+        dto.setHoldP99Ms(holdTimes.percentile(0.99));
+        dto.setHoldTimeHistogram(holdTimes.snapshot());
+        dto.setLongHolds(longHolds.sum());
+        return dto;
+    }
+
+    // Null until the pool has started
+    private HikariPoolMXBean pool() {
+        return hikariDataSource != null ? hikariDataSource.getHikariPoolMXBean() : null;
+    }
+
+    /**
+     * Fixed-bucket histogram; percentiles are reported as the upper bound of the bucket they fall in.
+     */
+    private static final class Histogram {
+        private final LongAdder[] counts = new LongAdder[BUCKETS_MS.length + 1];
+
+        private Histogram() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        private void record(long millis) {
+            int bucket = 0;
+            while (bucket < BUCKETS_MS.length && millis > BUCKETS_MS[bucket]) {
+                bucket++;
+            }
+            counts[bucket].increment();
+        }
+
+        private long count() {
+            long total = 0;
+            for (LongAdder count : counts) {
+                total += count.sum();
+            }
+            return total;
+        }
+
+        // -1 past the last bound, 0 when empty
+        private long percentile(double quantile) {
+            long[] values = new long[counts.length];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                values[i] = counts[i].sum();
+                total += values[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS_MS.length; i++) {
+                seen += values[i];
+                if (seen >= rank) {
+                    return BUCKETS_MS[i];
+                }
+            }
+            return -1;
+        }
+
+        private Map<String, Long> snapshot() {
+            Map<String, Long> buckets = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKETS_MS.length; i++) {
+                buckets.put("le" + BUCKETS_MS[i] + "ms", counts[i].sum());
+            }
+            buckets.put("gt" + BUCKETS_MS[BUCKETS_MS.length - 1] + "ms", counts[BUCKETS_MS.length].sum());
+            return buckets;
+        }
+    }
+}
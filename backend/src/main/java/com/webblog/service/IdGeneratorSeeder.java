@@ -0,0 +1,55 @@
+package com.webblog.service;
+
+import com.webblog.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves each table-backed id generator past the largest id already in its table before anything is
+ * inserted, so rows created while the tables still used AUTO_INCREMENT ids can never collide with ids
+ * from the generator.
+ */
+@Component
+// Runs after Hibernate's schema update has created the generator table
+@DependsOn("entityManagerFactory")
+public class IdGeneratorSeeder {
+    // Generator name (as in the entities' @TableGenerator pkColumnValue) to table
+    private static final Map<String, String> TABLES = Map.of(
+            "posts", "posts",
+            "comments", "comments",
+            "comment_replies", "comment_replies",
+            "reports", "reports");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void seed() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + IdGenerators.TABLE + " ("
+                + IdGenerators.NAME_COLUMN + " VARCHAR(255) NOT NULL PRIMARY KEY, "
+                + IdGenerators.VALUE_COLUMN + " BIGINT)");
+        // A whole block of headroom, whichever end of the block the optimizer starts from. Plain UPDATE and
+        // INSERT rather than an upsert, so the same statements run on MySQL and on the H2 test database
+        TABLES.forEach((name, table) -> {
+            String nextVal = "(SELECT COALESCE(MAX(id), 0) + 1 + " + IdGenerators.ALLOCATION_SIZE + " FROM " + table + ")";
+            String update = "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = GREATEST(COALESCE("
+                    + IdGenerators.VALUE_COLUMN + ", 0), " + nextVal + ") WHERE " + IdGenerators.NAME_COLUMN + " = ?";
+            if (jdbcTemplate.update(update, name) > 0) {
+                return;
+            }
+            try {
+                jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", "
+                        + IdGenerators.VALUE_COLUMN + ") VALUES (?, " + nextVal + ")", name);
+            } catch (DuplicateKeyException e) {
+                // Another instance inserted the row first
+                jdbcTemplate.update(update, name);
+            }
+        });
+    }
+}
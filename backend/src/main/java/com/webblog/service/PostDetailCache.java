@@ -0,0 +1,256 @@
+package com.webblog.service;
+
+import com.webblog.dto.CacheStatsDto;
+import com.webblog.dto.PostDto;
+import com.webblog.dto.ResourceVersion;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Size- and TTL-bounded cache of rendered post details and their validators in front of
+ * {@link PostService#getPostDetail(Long)}.
+ *
+ * Entries are kept in LRU order, but a new post only displaces the LRU victim when a frequency sketch says
+ * it has been requested more often (TinyLFU admission), so a burst of one-off reads cannot flush the posts
+ * that are actually hot. Concurrent misses on the same post share one load.
+ */
+@Component
+public class PostDetailCache {
+    private final Lock lock = new ReentrantLock();
+    // Access-ordered, guarded by lock
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, CompletableFuture<CachedPost>> loading = new ConcurrentHashMap<>();
+    private FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    @Value("${webblog.cache.post-detail.max-size:10000}")
+    private int maxSize;
+
+    @Value("${webblog.cache.post-detail.ttl-ms:300000}")
+    private long ttlMillis;
+
+    /**
+     * A rendered post together with the conditional GET validators it was read with.
+     */
+    public static final class CachedPost {
+        private final PostDto post;
+        private final ResourceVersion version;
+
+        public CachedPost(PostDto post, ResourceVersion version) {
+            this.post = post;
+            this.version = version;
+        }
+
+        public PostDto getPost() {
+            return post;
+        }
+
+        public ResourceVersion getVersion() {
+            return version;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        sketch = new FrequencySketch(maxSize);
+    }
+
+    public CachedPost get(Long postId, Supplier<CachedPost> loader) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            sketch.increment(postId);
+            Entry entry = entries.get(postId);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(postId);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        CompletableFuture<CachedPost> load = new CompletableFuture<>();
+        CompletableFuture<CachedPost> pending = loading.putIfAbsent(postId, load);
+        if (pending != null) {
+            coalescedLoads.increment();
+            return await(pending);
+        }
+
+        misses.increment();
+        CachedPost value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException e) {
+            loading.remove(postId, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+        lock.lock();
+        try {
+            // An invalidation during the load drops our future; the value may be stale, so don't keep it
+            if (loading.remove(postId, load)) {
+                admit(postId, value, now);
+            }
+        } finally {
+            lock.unlock();
+        }
+        load.complete(value);
+        return value;
+    }
+
+    /**
+     * Drops the post now and again once the surrounding transaction commits, so a read racing the commit
+     * cannot re-cache the old state.
+     */
+    public void invalidate(Long postId) {
+        remove(postId);
+        TransactionCallbacks.afterCommit(() -> remove(postId));
+    }
+
+    /**
+     * Drops every cached post matching {@code predicate}, e.g. those in a renamed category.
+     */
+    public void invalidateIf(Predicate<PostDto> predicate) {
+        removeIf(predicate);
+        TransactionCallbacks.afterCommit(() -> removeIf(predicate));
+    }
+
+    public CacheStatsDto getStats() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return new CacheStatsDto(size, maxSize, hits.sum(), misses.sum(), coalescedLoads.sum(),
+                evictions.sum(), rejections.sum());
+    }
+
+    private void remove(Long postId) {
+        lock.lock();
+        try {
+            loading.remove(postId);
+            entries.remove(postId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeIf(Predicate<PostDto> predicate) {
+        lock.lock();
+        try {
+            loading.clear();
+            entries.values().removeIf(entry -> predicate.test(entry.value.getPost()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void admit(Long postId, CachedPost value, long now) {
+        if (entries.size() >= maxSize && !entries.containsKey(postId)) {
+            Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+            Map.Entry<Long, Entry> victim = eldest.next();
+            if (victim.getValue().expiresAt > now && sketch.frequency(postId) <= sketch.frequency(victim.getKey())) {
+                rejections.increment();
+                return;
+            }
+            eldest.remove();
+            evictions.increment();
+        }
+        entries.put(postId, new Entry(value, now + ttlMillis));
+    }
+
+    private static CachedPost await(CompletableFuture<CachedPost> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry {
+        private final CachedPost value;
+        private final long expiresAt;
+
+        private Entry(CachedPost value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Count-min sketch of recent request frequency, four 4-bit-saturating counters per key. All counters
+     * are halved once enough increments accumulate, so old popularity fades. Guarded by the cache lock.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+        };
+        private static final int MAX_COUNT = 15;
+
+        private final byte[] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        private FrequencySketch(int capacity) {
+            int size = Integer.highestOneBit(Math.max(16, capacity) * 4 - 1) << 1;
+            counters = new byte[size];
+            mask = size - 1;
+            sampleSize = Math.max(16, capacity) * 10;
+        }
+
+        private void increment(Long key) {
+            for (long seed : SEEDS) {
+                int index = index(key, seed);
+                if (counters[index] < MAX_COUNT) {
+                    counters[index]++;
+                }
+            }
+            if (++additions >= sampleSize) {
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] >>= 1;
+                }
+                additions /= 2;
+            }
+        }
+
+        private int frequency(Long key) {
+            int frequency = MAX_COUNT;
+            for (long seed : SEEDS) {
+                frequency = Math.min(frequency, counters[index(key, seed)]);
+            }
+            return frequency;
+        }
+
+        private int index(Long key, long seed) {
+            long hash = (key + seed) * seed;
+            return (int) (hash >>> 32) & mask;
+        }
+    }
+}
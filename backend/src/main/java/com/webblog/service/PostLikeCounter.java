@@ -0,0 +1,252 @@
+package com.webblog.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Buffers like/unlike deltas per post and flushes them to posts.like_count in batched UPDATEs.
+ *
+ * Writers add to a LongAdder under the shared side of a read/write lock; the flusher takes the exclusive
+ * side only long enough to swap in an empty buffer, then drains the old one without blocking toggles.
+ * Counts read through {@link #pendingDelta(Long)} are therefore eventually consistent, and any drift
+ * (e.g. a crash before a flush) is repaired by {@link #reconcile()}.
+ */
+@Component
+public class PostLikeCounter {
+    private static final Logger log = LoggerFactory.getLogger(PostLikeCounter.class);
+
+    private static final String INCREMENT_SQL = "UPDATE posts SET like_count = like_count + ? WHERE id = ?";
+
+    private static final String MISMATCH_SQL =
+            "SELECT p.id, p.like_count, COALESCE(l.cnt, 0) FROM posts p " +
+            "LEFT JOIN (SELECT post_id, COUNT(*) AS cnt FROM post_likes GROUP BY post_id) l ON l.post_id = p.id " +
+            "WHERE p.like_count <> COALESCE(l.cnt, 0)";
+
+    private static final String COUNTS_BY_ID_SQL =
+            "SELECT p.id, p.like_count, (SELECT COUNT(*) FROM post_likes pl WHERE pl.post_id = p.id) " +
+            "FROM posts p WHERE p.id IN (:ids)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Lock flushLock = new ReentrantLock();
+    private volatile Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private volatile Map<Long, LongAdder> flushing = Map.of();
+    // Deltas of transactions between beforeCommit and afterCompletion, whose rows may or may not be visible yet
+    private final Map<Long, Long> committing = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Records a like (+1) or unlike (-1) once the surrounding transaction commits, so rolled-back
+     * toggles never reach the counter. While the transaction commits the delta is tracked as committing,
+     * so {@link #reconcile()} can tell it apart from drift.
+     */
+    public void recordAfterCommit(Long postId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(postId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean tracked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing.merge(postId, delta, Long::sum);
+                tracked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                record(postId, delta);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (tracked) {
+                    committing.merge(postId, -delta, (current, change) -> current + change == 0 ? null : current + change);
+                }
+            }
+        });
+    }
+
+    public void record(Long postId, long delta) {
+        swapLock.readLock().lock();
+        try {
+            pending.computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Delta not yet reflected in posts.like_count for the given post.
+     */
+    public long pendingDelta(Long postId) {
+        long delta = 0;
+        LongAdder buffered = pending.get(postId);
+        if (buffered != null) {
+            delta += buffered.sum();
+        }
+        LongAdder inFlight = flushing.get(postId);
+        if (inFlight != null) {
+            delta += inFlight.sum();
+        }
+        return delta;
+    }
+
+    @Scheduled(fixedDelayString = "${webblog.likes.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Swaps out the buffer and writes it in its own transaction. The drained deltas stay visible through
+     * {@link #pendingDelta(Long)} until that transaction has committed, so readers never undercount.
+     */
+    private void flushPending() {
+        Map<Long, LongAdder> drained;
+        swapLock.writeLock().lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            drained = pending;
+            pending = new ConcurrentHashMap<>();
+            flushing = drained;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        List<Object[]> updates = new ArrayList<>(drained.size());
+        drained.forEach((postId, delta) -> {
+            long sum = delta.sum();
+            if (sum != 0) {
+                updates.add(new Object[]{sum, postId});
+            }
+        });
+
+        try {
+            if (!updates.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INCREMENT_SQL, updates));
+            }
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            log.warn("Failed to flush {} like counter deltas, will retry", updates.size(), e);
+            swapLock.writeLock().lock();
+            try {
+                drained.forEach((postId, delta) -> pending.computeIfAbsent(postId, id -> new LongAdder()).add(delta.sum()));
+                flushing = Map.of();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            throw e;
+        }
+        flushing = Map.of();
+    }
+
+    /**
+     * Corrects like_count for every post whose stored value plus buffered deltas disagrees with post_likes.
+     *
+     * Posts with a like or unlike committing while they are counted are left for the next run, since the
+     * count may or may not include it. Corrections are applied as increments, so they compose with
+     * deltas flushed after this run.
+     */
+    @Scheduled(fixedDelayString = "${webblog.likes.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        flushLock.lock();
+        try {
+            flushPending();
+
+            Map<Long, long[]> before = inFlight();
+            Map<Long, long[]> rows = new HashMap<>();
+            jdbcTemplate.query(MISMATCH_SQL, rs -> {
+                rows.put(rs.getLong(1), new long[]{rs.getLong(2), rs.getLong(3)});
+            });
+            // Buffered posts can be off in either direction without showing up as a mismatch
+            Set<Long> buffered = new HashSet<>(before.keySet());
+            buffered.removeAll(rows.keySet());
+            if (!buffered.isEmpty()) {
+                namedParameterJdbcTemplate.query(COUNTS_BY_ID_SQL, new MapSqlParameterSource("ids", buffered), rs -> {
+                    rows.put(rs.getLong(1), new long[]{rs.getLong(2), rs.getLong(3)});
+                });
+            }
+            Map<Long, long[]> after = inFlight();
+
+            List<Object[]> corrections = new ArrayList<>();
+            rows.forEach((postId, row) -> {
+                long[] activity = before.getOrDefault(postId, new long[2]);
+                if (activity[1] != 0 || !Objects.deepEquals(activity, after.getOrDefault(postId, new long[2]))) {
+                    return;
+                }
+                long correction = row[1] - row[0] - activity[0];
+                if (correction != 0) {
+                    corrections.add(new Object[]{correction, postId});
+                }
+            });
+            if (!corrections.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INCREMENT_SQL, corrections));
+                log.info("Reconciled like_count for {} posts", corrections.size());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // [buffered delta, committing delta] of every post with either
+    private Map<Long, long[]> inFlight() {
+        Map<Long, long[]> activity = new HashMap<>();
+        pending.forEach((postId, delta) -> activity.computeIfAbsent(postId, id -> new long[2])[0] += delta.sum());
+        flushing.forEach((postId, delta) -> activity.computeIfAbsent(postId, id -> new long[2])[0] += delta.sum());
+        committing.forEach((postId, delta) -> activity.computeIfAbsent(postId, id -> new long[2])[1] += delta);
+        activity.values().removeIf(values -> values[0] == 0 && values[1] == 0);
+        return activity;
+    }
+}
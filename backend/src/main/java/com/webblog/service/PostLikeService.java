@@ -1,20 +1,30 @@
 package com.webblog.service;
 
-import com.webblog.entity.Post;
-import com.webblog.entity.PostLike;
-import com.webblog.entity.User;
+import com.webblog.dto.PostInteractionDto;
 import com.webblog.repository.PostLikeRepository;
 import com.webblog.repository.PostRepository;
-import com.webblog.repository.UserRepository;
+import com.webblog.repository.SavedPostRepository;
+import com.webblog.security.AuthenticatedUser;
+import com.webblog.security.CurrentUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional
 public class PostLikeService {
+    public static final int MAX_BATCH_SIZE = 100;
+
     @Autowired
     private PostLikeRepository postLikeRepository;
 
@@ -22,39 +32,103 @@ public class PostLikeService {
     private PostRepository postRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private SavedPostRepository savedPostRepository;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private PostLikeCounter postLikeCounter;
 
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private ActivityRollups activityRollups;
+
+    /**
+     * Likes the post for the current user. Idempotent: liking twice leaves one like and counts it once.
+     */
+    public void like(Long postId) {
+        Long userId = currentUserResolver.getCurrentPrincipal().getId();
+        if (postLikeRepository.insertIfAbsent(postId, userId, LocalDateTime.now()) == 1) {
+            postLikeCounter.recordAfterCommit(postId, 1);
+            userProfileCache.invalidate(userId);
+            activityRollups.recordAfterCommit(ActivityRollups.Metric.LIKES);
+        } else if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("Post not found");
+        }
+    }
+
+    /**
+     * Removes the current user's like, if any.
+     */
+    public void unlike(Long postId) {
+        Long userId = currentUserResolver.getCurrentPrincipal().getId();
+        if (postLikeRepository.deleteByPostIdAndUserId(postId, userId) == 1) {
+            postLikeCounter.recordAfterCommit(postId, -1);
+            userProfileCache.invalidate(userId);
+        }
+    }
+
+    /**
+     * Kept for older clients; a double click may cancel itself out, so prefer {@link #like}/{@link #unlike}.
+     */
     public boolean toggleLike(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-        
-        User currentUser = getCurrentUser();
-        
-        boolean exists = postLikeRepository.existsByPostIdAndUserId(postId, currentUser.getId());
-        
-        if (exists) {
-            postLikeRepository.deleteByPostIdAndUserId(postId, currentUser.getId());
+        Long userId = currentUserResolver.getCurrentPrincipal().getId();
+        if (postLikeRepository.deleteByPostIdAndUserId(postId, userId) == 1) {
+            postLikeCounter.recordAfterCommit(postId, -1);
+            userProfileCache.invalidate(userId);
             return false; // Unliked
-        } else {
-            PostLike like = new PostLike(post, currentUser);
-            postLikeRepository.save(like);
-            return true; // Liked
         }
+        like(postId);
+        return true; // Liked
     }
 
     public boolean isLikedByUser(Long postId, Long userId) {
         return postLikeRepository.existsByPostIdAndUserId(postId, userId);
     }
 
+    @Transactional(readOnly = true)
     public long getLikeCount(Long postId) {
-        return postLikeRepository.countByPostId(postId);
+        long stored = postRepository.findLikeCountById(postId).orElse(0L);
+        return stored + postLikeCounter.pendingDelta(postId);
     }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Like counts plus the caller's liked/saved flags for a page of posts, in at most three set-based queries.
+     * Flags are false for anonymous callers.
+     */
+    @Transactional(readOnly = true)
+    public List<PostInteractionDto> getInteractions(List<Long> postIds) {
+        Set<Long> ids = new LinkedHashSet<>(postIds);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("At most " + MAX_BATCH_SIZE + " post ids can be requested at once");
+        }
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Long> likeCounts = new HashMap<>();
+        for (Object[] row : postRepository.findLikeCountsByIds(ids)) {
+            Long postId = (Long) row[0];
+            likeCounts.put(postId, (Long) row[1] + postLikeCounter.pendingDelta(postId));
+        }
+
+        Set<Long> liked = Collections.emptySet();
+        Set<Long> saved = Collections.emptySet();
+        AuthenticatedUser currentUser = currentUserResolver.getCurrentPrincipalOrNull();
+        if (currentUser != null) {
+            liked = new HashSet<>(postLikeRepository.findLikedPostIds(currentUser.getId(), ids));
+            saved = new HashSet<>(savedPostRepository.findSavedPostIds(currentUser.getId(), ids));
+        }
+
+        Set<Long> likedIds = liked;
+        Set<Long> savedIds = saved;
+        return ids.stream()
+                .map(id -> new PostInteractionDto(id, likeCounts.getOrDefault(id, 0L),
+                        likedIds.contains(id), savedIds.contains(id)))
+                .collect(Collectors.toList());
     }
 }
 
@@ -0,0 +1,451 @@
+package com.webblog.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over post title, content, author name and category names, ranked with BM25.
+ * Only term statistics are held in memory; the text shown in results is loaded from the database for the
+ * requested page alone.
+ */
+@Component
+public class PostSearchIndex {
+    public static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // A term in the title counts as much as three occurrences in the body
+    private static final int TITLE_BOOST = 3;
+    private static final int AUTHOR_BOOST = 2;
+    private static final int CATEGORY_BOOST = 2;
+    private static final int CONTENT_BOOST = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment live = new Segment();
+    // Non-null while a rebuild is running: writes made meanwhile are replayed onto the rebuilt segment
+    private List<Consumer<Segment>> replayLog;
+
+    public static class Document {
+        private final Long postId;
+        private final String title;
+        private final String content;
+        private final String authorName;
+        private final Collection<String> categoryNames;
+
+        public Document(Long postId, String title, String content, String authorName, Collection<String> categoryNames) {
+            this.postId = postId;
+            this.title = title;
+            this.content = content;
+            this.authorName = authorName;
+            this.categoryNames = categoryNames;
+        }
+    }
+
+    public static class Hit {
+        private final Long postId;
+        private final double score;
+
+        Hit(Long postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+
+        public Long getPostId() {
+            return postId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    public static class Hits {
+        private final long total;
+        private final List<Hit> hits;
+
+        Hits(long total, List<Hit> hits) {
+            this.total = total;
+            this.hits = hits;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            tokens.add(matcher.group().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    public void index(Document document) {
+        Map<String, Integer> terms = termFrequencies(document);
+        mutate(segment -> segment.put(document.postId, terms));
+    }
+
+    public void remove(Long postId) {
+        mutate(segment -> segment.remove(postId));
+    }
+
+    /**
+     * Replaces the whole index with the documents {@code loader} feeds in. Searches keep using the old
+     * index until the new one is complete, and writes that happen during the rebuild are not lost.
+     */
+    public void rebuild(Consumer<Consumer<Document>> loader) {
+        lock.writeLock().lock();
+        try {
+            replayLog = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment fresh = new Segment();
+        try {
+            loader.accept(document -> fresh.put(document.postId, termFrequencies(document)));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replayLog = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            replayLog.forEach(mutation -> mutation.accept(fresh));
+            replayLog = null;
+            live = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Hits search(String query, int offset, int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("Invalid search window: offset " + offset + ", limit " + limit);
+        }
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return new Hits(0, List.of());
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            Segment segment = live;
+            int docCount = segment.docCount;
+            if (docCount == 0) {
+                return new Hits(0, List.of());
+            }
+            double avgLength = (double) segment.totalLength / docCount;
+            for (String term : queryTerms) {
+                PostingList postings = segment.postings.get(term);
+                if (postings == null) {
+                    continue;
+                }
+                int documentFrequency = 0;
+                for (int i = 0; i < postings.size; i++) {
+                    if (segment.isLive(postings.slots[i])) {
+                        documentFrequency++;
+                    }
+                }
+                double idf = Math.log(1 + (docCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                for (int i = 0; i < postings.size; i++) {
+                    int slot = postings.slots[i];
+                    if (!segment.isLive(slot)) {
+                        continue;
+                    }
+                    int tf = postings.frequencies[i];
+                    double norm = K1 * (1 - B + B * segment.slotLengths[slot] / avgLength);
+                    scores.merge(segment.slotPostIds[slot], idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Keep only the top offset + limit hits; newer posts win ties
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::getScore).thenComparing(Hit::getPostId);
+        int wanted = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+        PriorityQueue<Hit> top = new PriorityQueue<>(ranking);
+        scores.forEach((postId, score) -> {
+            top.add(new Hit(postId, score));
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        });
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(ranking.reversed());
+        List<Hit> page = offset < ranked.size() ? ranked.subList(offset, ranked.size()) : List.of();
+        return new Hits(scores.size(), new ArrayList<>(page));
+    }
+
+    private void mutate(Consumer<Segment> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(live);
+            if (replayLog != null) {
+                replayLog.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(Document document) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, document.title, TITLE_BOOST);
+        addTerms(terms, document.content, CONTENT_BOOST);
+        addTerms(terms, document.authorName, AUTHOR_BOOST);
+        if (document.categoryNames != null) {
+            for (String categoryName : document.categoryNames) {
+                addTerms(terms, categoryName, CATEGORY_BOOST);
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int boost) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, boost, Integer::sum);
+        }
+    }
+
+    /**
+     * Postings and document lengths, held in primitive arrays. Each indexed version of a post gets a new
+     * document slot; postings refer to slots, so they stay sorted by append order and need no per-document
+     * term list. Removing a post only marks its slot dead, and the dead entries are dropped by
+     * {@link #compact()} once they make up a quarter of the slots. Guarded by the index lock once it is live.
+     */
+    private static class Segment {
+        private static final int MIN_COMPACT_SLOTS = 1024;
+
+        private final Map<String, PostingList> postings = new HashMap<>();
+        private final SlotMap slotsByPost = new SlotMap();
+        private long[] slotPostIds = new long[16];
+        // Length of the document in each slot, or -1 once the slot is dead
+        private int[] slotLengths = new int[16];
+        private int slotCount;
+        private int docCount;
+        private int deadCount;
+        private long totalLength;
+
+        void put(Long postId, Map<String, Integer> terms) {
+            remove(postId);
+            if (slotCount == slotPostIds.length) {
+                slotPostIds = Arrays.copyOf(slotPostIds, slotCount * 2);
+                slotLengths = Arrays.copyOf(slotLengths, slotCount * 2);
+            }
+            int slot = slotCount++;
+            int length = 0;
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), key -> new PostingList()).add(slot, term.getValue());
+                length += term.getValue();
+            }
+            slotPostIds[slot] = postId;
+            slotLengths[slot] = length;
+            slotsByPost.put(postId, slot);
+            docCount++;
+            totalLength += length;
+        }
+
+        void remove(Long postId) {
+            int slot = slotsByPost.remove(postId);
+            if (slot < 0) {
+                return;
+            }
+            totalLength -= slotLengths[slot];
+            slotLengths[slot] = -1;
+            docCount--;
+            deadCount++;
+            if (deadCount >= MIN_COMPACT_SLOTS && deadCount * 4 >= slotCount) {
+                compact();
+            }
+        }
+
+        boolean isLive(int slot) {
+            return slotLengths[slot] >= 0;
+        }
+
+        private void compact() {
+            int[] remap = new int[slotCount];
+            int next = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (isLive(slot)) {
+                    remap[slot] = next;
+                    slotPostIds[next] = slotPostIds[slot];
+                    slotLengths[next] = slotLengths[slot];
+                    slotsByPost.put(slotPostIds[next], next);
+                    next++;
+                } else {
+                    remap[slot] = -1;
+                }
+            }
+            slotCount = next;
+            deadCount = 0;
+            postings.values().removeIf(list -> list.retain(remap) == 0);
+        }
+    }
+
+    /**
+     * Document slots and term frequencies of one term, in slot order.
+     */
+    private static class PostingList {
+        private int[] slots = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+
+        void add(int slot, int frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        // Drops entries whose slot maps to -1 and renumbers the rest; returns the new size
+        int retain(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int slot = remap[slots[i]];
+                if (slot >= 0) {
+                    slots[kept] = slot;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept > 0 && kept < slots.length / 4) {
+                slots = Arrays.copyOf(slots, kept);
+                frequencies = Arrays.copyOf(frequencies, kept);
+            }
+            return kept;
+        }
+    }
+
+    /**
+     * Open-addressing map from post id to slot, so the index holds no boxed key per document.
+     */
+    private static class SlotMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(16);
+        private int[] values = new int[16];
+        private int size;
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        int put(long key, int value) {
+            if ((size + 1) * 3 > keys.length * 2) {
+                resize();
+            }
+            int index = indexOf(key);
+            if (keys[index] == key) {
+                int previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            keys[index] = key;
+            values[index] = value;
+            size++;
+            return -1;
+        }
+
+        // Returns the removed slot, or -1 if the key was absent
+        int remove(long key) {
+            int index = indexOf(key);
+            if (keys[index] != key) {
+                return -1;
+            }
+            int removed = values[index];
+            // Backward-shift deletion keeps every probe chain unbroken without tombstones
+            int mask = keys.length - 1;
+            int gap = index;
+            int next = (gap + 1) & mask;
+            while (keys[next] != EMPTY) {
+                int home = hash(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[gap] = EMPTY;
+            size--;
+            return removed;
+        }
+
+        private int indexOf(long key) {
+            int mask = keys.length - 1;
+            int index = hash(key) & mask;
+            while (keys[index] != EMPTY && keys[index] != key) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.webblog.service;
+
+import com.webblog.dto.PostSearchHitDto;
+import com.webblog.dto.PostSearchResultDto;
+import com.webblog.entity.Category;
+import com.webblog.entity.Post;
+import com.webblog.mapper.CategoryMapper;
+import com.webblog.mapper.UserMapper;
+import com.webblog.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class PostSearchService {
+    private static final Logger log = LoggerFactory.getLogger(PostSearchService.class);
+
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int SNIPPET_LEAD = 60;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    private ExecutorService executor;
+
+    public PostSearchResultDto search(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Keeps offset + limit within an int, however large the requested page
+        int pageNumber = Math.max(0, Math.min(page, Integer.MAX_VALUE / pageSize - 1));
+        PostSearchIndex.Hits hits = postSearchIndex.search(query, pageNumber * pageSize, pageSize);
+
+        List<Long> ids = hits.getHits().stream()
+                .map(PostSearchIndex.Hit::getPostId)
+                .collect(Collectors.toList());
+        Map<Long, Post> posts = postRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        Set<String> terms = new HashSet<>(PostSearchIndex.tokenize(query));
+        List<PostSearchHitDto> results = new ArrayList<>();
+        for (PostSearchIndex.Hit hit : hits.getHits()) {
+            Post post = posts.get(hit.getPostId());
+            // Deleted after the index was searched but before it was updated
+            if (post != null) {
+                results.add(toHitDto(post, hit.getScore(), terms));
+            }
+        }
+        return new PostSearchResultDto(query, hits.getTotal(), pageNumber, pageSize, results);
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Builds the index in the background, so startup does not wait for a full scan of the posts table.
+     * Searches return what has been indexed by live writes until the rebuild swaps in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexInBackground() {
+        executor.execute(() -> {
+            try {
+                rebuildIndex();
+            } catch (RuntimeException e) {
+                log.error("Search index rebuild failed", e);
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the search index from the posts table, in id-ordered batches that never hydrate entities.
+     */
+    public void rebuildIndex() {
+        long started = System.currentTimeMillis();
+        postSearchIndex.rebuild(sink -> {
+            Long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = postRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                toDocuments(rows).forEach(sink);
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            } while (rows.size() == REBUILD_BATCH_SIZE);
+        });
+        log.info("Search index rebuilt with {} posts in {} ms", postSearchIndex.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Re-reads and indexes the given posts in the background once the surrounding transaction commits,
+     * e.g. after one of their categories was renamed or deleted.
+     */
+    public void reindexAfterCommit(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(postIds);
+        TransactionCallbacks.afterCommit(() -> executor.execute(() -> {
+            try {
+                for (int from = 0; from < ids.size(); from += REBUILD_BATCH_SIZE) {
+                    List<Long> batch = ids.subList(from, Math.min(ids.size(), from + REBUILD_BATCH_SIZE));
+                    toDocuments(postRepository.findSearchDocumentsByIds(batch)).forEach(postSearchIndex::index);
+                }
+            } catch (RuntimeException e) {
+                log.error("Reindexing {} posts failed", ids.size(), e);
+            }
+        }));
+    }
+
+    /**
+     * Indexes the post's current state once the surrounding transaction commits.
+     */
+    public void indexAfterCommit(Post post) {
+        indexAfterCommit(post, post.getCategories().stream().map(Category::getName).collect(Collectors.toList()));
+    }
+
+    /**
+     * As {@link #indexAfterCommit(Post)}, with category names the caller already has.
+     */
+    public void indexAfterCommit(Post post, List<String> categoryNames) {
+        PostSearchIndex.Document document = new PostSearchIndex.Document(post.getId(), post.getTitle(),
+                post.getContent(), post.getAuthor().getName(), categoryNames);
+        TransactionCallbacks.afterCommit(() -> postSearchIndex.index(document));
+    }
+
+    public void removeAfterCommit(Long postId) {
+        TransactionCallbacks.afterCommit(() -> postSearchIndex.remove(postId));
+    }
+
+    public void removeAfterCommit(Collection<Long> postIds) {
+        List<Long> ids = List.copyOf(postIds);
+        TransactionCallbacks.afterCommit(() -> ids.forEach(postSearchIndex::remove));
+    }
+
+    // Pairs [id, title, content, authorName] rows with their category names
+    private List<PostSearchIndex.Document> toDocuments(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+        Map<Long, List<String>> categoryNames = new HashMap<>();
+        for (Object[] row : postRepository.findCategoryNamesByPostIds(ids)) {
+            categoryNames.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        List<PostSearchIndex.Document> documents = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            documents.add(new PostSearchIndex.Document(id, (String) row[1], (String) row[2], (String) row[3],
+                    categoryNames.getOrDefault(id, List.of())));
+        }
+        return documents;
+    }
+
+    private PostSearchHitDto toHitDto(Post post, double score, Set<String> terms) {
+        PostSearchHitDto dto = new PostSearchHitDto();
+        dto.setId(post.getId());
+        dto.setTitle(post.getTitle());
+        dto.setHighlightedTitle(highlight(post.getTitle(), 0, post.getTitle().length(), terms));
+        dto.setSnippet(snippet(post.getContent(), terms));
+        dto.setAuthor(userMapper.toDto(post.getAuthor()));
+        dto.setAuthorId(post.getAuthor().getId());
+        dto.setCreatedAt(post.getCreatedAt());
+        dto.setCategories(post.getCategories().stream()
+                .map(categoryMapper::toDto)
+                .collect(Collectors.toList()));
+        dto.setScore(score);
+        return dto;
+    }
+
+    /**
+     * A window of the content starting shortly before the first matching term.
+     */
+    private String snippet(String content, Set<String> terms) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        int firstMatch = 0;
+        Matcher matcher = PostSearchIndex.TOKEN.matcher(content);
+        while (matcher.find()) {
+            if (terms.contains(matcher.group().toLowerCase(Locale.ROOT))) {
+                firstMatch = matcher.start();
+                break;
+            }
+        }
+        int start = Math.max(0, firstMatch - SNIPPET_LEAD);
+        int end = Math.min(content.length(), start + SNIPPET_LENGTH);
+        String snippet = highlight(content, start, end, terms);
+        return (start > 0 ? "…" : "") + snippet + (end < content.length() ? "…" : "");
+    }
+
+    private String highlight(String text, int start, int end, Set<String> terms) {
+        StringBuilder out = new StringBuilder();
+        Matcher matcher = PostSearchIndex.TOKEN.matcher(text).region(start, end);
+        int last = start;
+        while (matcher.find()) {
+            if (terms.contains(matcher.group().toLowerCase(Locale.ROOT))) {
+                out.append(HtmlUtils.htmlEscape(text.substring(last, matcher.start())))
+                        .append("<mark>")
+                        .append(HtmlUtils.htmlEscape(matcher.group()))
+                        .append("</mark>");
+                last = matcher.end();
+            }
+        }
+        out.append(HtmlUtils.htmlEscape(text.substring(last, end)));
+        return out.toString();
+    }
+}
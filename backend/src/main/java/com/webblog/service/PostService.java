@@ -1,35 +1,76 @@
 package com.webblog.service;
 
+import com.webblog.dto.CategoryDto;
+import com.webblog.dto.FeedCursor;
 import com.webblog.dto.PostDto;
+import com.webblog.dto.PostFeedDto;
+import com.webblog.dto.PostSummaryDto;
+import com.webblog.dto.ResourceVersion;
 import com.webblog.entity.Category;
 import com.webblog.entity.Post;
+import com.webblog.entity.ReportStatus;
 import com.webblog.entity.User;
+import com.webblog.mapper.CategoryMapper;
 import com.webblog.mapper.PostMapper;
 import com.webblog.repository.CategoryRepository;
+import com.webblog.repository.CommentRepository;
 import com.webblog.repository.PostRepository;
 import com.webblog.repository.ReportRepository;
-import com.webblog.repository.UserRepository;
+import com.webblog.security.AuthenticatedUser;
+import com.webblog.security.CurrentUserResolver;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class PostService {
+    private static final Logger log = LoggerFactory.getLogger(PostService.class);
+
+    public static final int DEFAULT_FEED_PAGE_SIZE = 20;
+    public static final int MAX_FEED_PAGE_SIZE = 100;
+    // Sorts before every post, so a first category feed page uses the same seek as the pages after it
+    private static final FeedCursor FEED_START = new FeedCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    // Above this many matching posts the category feed is filtered by the database instead of by id list
+    private static final int MAX_CATEGORY_FEED_CANDIDATES = 1000;
+
+    private static final int EXCERPT_LENGTH = 280;
+    private static final int WORDS_PER_MINUTE = 200;
+    private static final int SUMMARY_BACKFILL_BATCH_SIZE = 200;
+
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
     @Autowired
     private PostMapper postMapper;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUserResolver currentUserResolver;
 
     @Autowired
     private CategoryRepository categoryRepository;
@@ -37,56 +78,200 @@ public class PostService {
     @Autowired
     private ReportRepository reportRepository;
 
-    public List<PostDto> getAllPosts() {
-        return postRepository.findAllOrderByCreatedAtDesc().stream()
-                .map(postMapper::toDto)
-                .collect(Collectors.toList());
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private CategoryPostIndex categoryPostIndex;
+
+    @Autowired
+    private PostLikeCounter postLikeCounter;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private StatsCounters statsCounters;
+
+    @Autowired
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
     }
 
+    /**
+     * Every post summary, newest first, handed to {@code consumer} one feed page at a time, for clients
+     * that predate the feed. Each page is read in its own read-only transaction, so no connection is held
+     * while the consumer writes a page out.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachPostPage(Consumer<List<PostSummaryDto>> consumer) {
+        FeedCursor after = null;
+        do {
+            FeedCursor from = after;
+            PostFeedDto page = readOnlyTransaction.execute(status -> getFeed(from, MAX_FEED_PAGE_SIZE));
+            if (!page.getPosts().isEmpty()) {
+                consumer.accept(page.getPosts());
+            }
+            after = page.getNextCursor() != null ? FeedCursor.decode(page.getNextCursor()) : null;
+        } while (after != null);
+    }
+
+    /**
+     * Summaries of the given posts with their categories, newest first. Ids of deleted posts are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> getPostSummaries(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<PostSummaryDto> posts = postRepository.findPostSummariesByIds(ids);
+        postMapper.attachCategories(posts, postRepository.findPostCategoryRowsByPostIds(ids));
+        addPendingLikes(posts);
+        return posts;
+    }
+
+    /**
+     * The feed page after {@code after} (or the first page when null), newest first. The page is resolved
+     * as ids from the feed index and then projected as summaries; nextCursor is null on the last page.
+     */
+    @Transactional(readOnly = true)
+    public PostFeedDto getFeed(FeedCursor after, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<Long> ids = after == null
+                ? postRepository.findFeedIds(page)
+                : postRepository.findFeedIdsAfter(after.getCreatedAt(), after.getId(), page);
+        List<PostSummaryDto> posts = getPostSummaries(ids);
+        String nextCursor = null;
+        if (ids.size() == pageSize && !posts.isEmpty()) {
+            PostSummaryDto last = posts.get(posts.size() - 1);
+            nextCursor = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new PostFeedDto(posts, nextCursor);
+    }
+
+    /**
+     * Feed restricted to posts in all ({@code matchAll}) or any of {@code categoryIds}, in the same
+     * (createdAt, id) order and with the same cursor as {@link #getFeed}. The matching posts are found in
+     * the category bitmaps; when there are few of them the page is sought among their ids, otherwise the
+     * category condition is left to the database alongside the feed index.
+     */
+    @Transactional(readOnly = true)
+    public PostFeedDto getCategoryFeed(List<Long> categoryIds, boolean matchAll, FeedCursor after, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        List<Long> distinctIds = categoryIds.stream().distinct().collect(Collectors.toList());
+        BitSet matches = categoryPostIndex.findMatches(distinctIds, matchAll);
+        if (matches.isEmpty()) {
+            return new PostFeedDto(new ArrayList<>(), null);
+        }
+
+        FeedCursor from = after != null ? after : FEED_START;
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<Long> ids;
+        if (matches.cardinality() <= MAX_CATEGORY_FEED_CANDIDATES) {
+            List<Long> candidates = matches.stream().mapToObj(bit -> (long) bit).collect(Collectors.toList());
+            ids = postRepository.findFeedIdsAmongAfter(candidates, from.getCreatedAt(), from.getId(), page);
+        } else if (matchAll) {
+            ids = postRepository.findFeedIdsInAllCategoriesAfter(distinctIds, distinctIds.size(),
+                    from.getCreatedAt(), from.getId(), page);
+        } else {
+            ids = postRepository.findFeedIdsInAnyCategoryAfter(distinctIds, from.getCreatedAt(), from.getId(), page);
+        }
+
+        List<PostSummaryDto> posts = getPostSummaries(ids);
+        String nextCursor = null;
+        if (ids.size() == pageSize && !posts.isEmpty()) {
+            PostSummaryDto last = posts.get(posts.size() - 1);
+            nextCursor = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new PostFeedDto(posts, nextCursor);
+    }
+
+    /**
+     * The post with its conditional GET validators. A cache hit touches neither the database nor a
+     * transaction; a miss reads both in one read-only transaction.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PostDetailCache.CachedPost getPostDetail(Long id) {
+        return postDetailCache.get(id, () -> readOnlyTransaction.execute(status -> {
+            ResourceVersion version = readPostVersion(id);
+            if (version == null) {
+                throw new RuntimeException("Post not found");
+            }
+            PostDto post = postMapper.toDto(postRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Post not found")));
+            return new PostDetailCache.CachedPost(post, version);
+        }));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public PostDto getPostById(Long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-        return postMapper.toDto(post);
+        return getPostDetail(id).getPost();
     }
 
     public PostDto createPost(PostDto postDto) {
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserResolver.getCurrentUserReference();
         Post post = new Post();
         post.setTitle(postDto.getTitle());
         post.setContent(postDto.getContent());
+        applySummary(post);
         post.setAuthor(currentUser);
         
         // Handle categories if provided (support both categoryIds and categories array)
-        List<Category> categories = new ArrayList<>();
+        List<Long> requestedIds = new ArrayList<>();
         if (postDto.getCategoryIds() != null && !postDto.getCategoryIds().isEmpty()) {
             // Handle categoryIds array
-            for (Long categoryId : postDto.getCategoryIds()) {
-                categoryRepository.findById(categoryId)
-                        .ifPresent(categories::add);
-            }
+            requestedIds.addAll(postDto.getCategoryIds());
         } else if (postDto.getCategories() != null && !postDto.getCategories().isEmpty()) {
             // Handle categories array (for backward compatibility)
-            for (com.webblog.dto.CategoryDto categoryDto : postDto.getCategories()) {
+            for (CategoryDto categoryDto : postDto.getCategories()) {
                 if (categoryDto.getId() != null) {
-                    categoryRepository.findById(categoryDto.getId())
-                            .ifPresent(categories::add);
+                    requestedIds.add(categoryDto.getId());
                 }
             }
         }
-        if (!categories.isEmpty()) {
-            post.setCategories(categories);
-        }
-        
+        List<CategoryDto> categories = resolveCategories(requestedIds);
+        // Only the ids are needed to write post_categories, so references avoid loading the rows
+        post.setCategories(categories.stream()
+                .map(category -> categoryRepository.getReferenceById(category.getId()))
+                .collect(Collectors.toList()));
+
         Post savedPost = postRepository.save(post);
-        return postMapper.toDto(savedPost);
+        userProfileCache.invalidate(currentUser.getId());
+        statsCounters.recordAfterCommit(StatsCounters.Counter.POSTS, 1);
+        activityRollups.recordAfterCommit(ActivityRollups.Metric.POSTS);
+        postSearchService.indexAfterCommit(savedPost,
+                categories.stream().map(CategoryDto::getName).collect(Collectors.toList()));
+        List<Long> categoryIds = categories.stream().map(CategoryDto::getId).collect(Collectors.toList());
+        TransactionCallbacks.afterCommit(() -> categoryPostIndex.addPost(savedPost.getId(), categoryIds));
+        return postMapper.toDto(savedPost, categories);
     }
 
     public PostDto updatePost(Long id, PostDto postDto) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
         
-        User currentUser = getCurrentUser();
-        boolean isAdmin = currentUser.getRole().name().equals("ROLE_ADMIN");
+        AuthenticatedUser currentUser = currentUserResolver.getCurrentPrincipal();
+        boolean isAdmin = currentUser.isAdmin();
         boolean isOwner = post.getAuthor().getId().equals(currentUser.getId());
 
         if (!isAdmin && !isOwner) {
@@ -95,7 +280,11 @@ public class PostService {
 
         post.setTitle(postDto.getTitle());
         post.setContent(postDto.getContent());
+        applySummary(post);
         Post updatedPost = postRepository.save(post);
+        postSearchService.indexAfterCommit(updatedPost);
+        postDetailCache.invalidate(id);
+        userProfileCache.invalidate(post.getAuthor().getId());
         return postMapper.toDto(updatedPost);
     }
 
@@ -103,8 +292,8 @@ public class PostService {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
         
-        User currentUser = getCurrentUser();
-        boolean isAdmin = currentUser.getRole().name().equals("ROLE_ADMIN");
+        AuthenticatedUser currentUser = currentUserResolver.getCurrentPrincipal();
+        boolean isAdmin = currentUser.isAdmin();
         boolean isOwner = post.getAuthor().getId().equals(currentUser.getId());
 
         if (!isAdmin && !isOwner) {
@@ -115,16 +304,119 @@ public class PostService {
         List<com.webblog.entity.Report> reportsToDelete = reportRepository.findByPostId(id);
         if (!reportsToDelete.isEmpty()) {
             reportRepository.deleteAll(reportsToDelete);
+            statsCounters.recordAfterCommit(StatsCounters.Counter.REPORTS, -reportsToDelete.size());
+            statsCounters.recordAfterCommit(StatsCounters.Counter.PENDING_REPORTS, -reportsToDelete.stream()
+                    .filter(report -> report.getStatus() == ReportStatus.PENDING)
+                    .count());
         }
 
+        // The post's comments go with it through the cascade
+        long comments = commentRepository.countByPostId(id);
         postRepository.deleteById(id);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.POSTS, -1);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.COMMENTS, -comments);
+        postSearchService.removeAfterCommit(id);
+        postDetailCache.invalidate(id);
+        userProfileCache.invalidate(post.getAuthor().getId());
+        TransactionCallbacks.afterCommit(() -> categoryPostIndex.removePost(id));
+        if (isAdmin && !isOwner) {
+            auditLogService.logAction("DELETE_POST", "POST", id);
+        }
+    }
+
+    /**
+     * Resolves category ids against the catalog snapshot, or with a single findAllById while it is cold.
+     * Unknown and repeated ids are skipped.
+     */
+    private List<CategoryDto> resolveCategories(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, CategoryDto> found = new HashMap<>();
+        CategoryCatalog.Snapshot snapshot = categoryCatalog.current();
+        if (snapshot != null) {
+            for (Long id : ids) {
+                CategoryDto category = snapshot.get(id);
+                if (category != null) {
+                    found.put(id, category);
+                }
+            }
+        } else {
+            for (Category category : categoryRepository.findAllById(ids)) {
+                found.put(category.getId(), categoryMapper.toDto(category));
+            }
+        }
+        return ids.stream()
+                .distinct()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Derives the stored excerpt and reading time of posts written before they existed. Each batch commits
+     * on its own, so a large backfill neither holds one long transaction nor keeps every post in memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillSummaries() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int updated = 0;
+        int batchSize;
+        do {
+            batchSize = transactionTemplate.execute(status -> {
+                List<Post> posts = postRepository.findByExcerptIsNull(PageRequest.of(0, SUMMARY_BACKFILL_BATCH_SIZE));
+                posts.forEach(PostService::applySummary);
+                postRepository.saveAll(posts);
+                return posts.size();
+            });
+            updated += batchSize;
+        } while (batchSize == SUMMARY_BACKFILL_BATCH_SIZE);
+        if (updated > 0) {
+            log.info("Backfilled excerpts for {} posts", updated);
+        }
+    }
+
+    /**
+     * Conditional GET validators for a post, read without loading it, or null when it does not exist. The
+     * ETag also covers the post's categories and author, which are part of its representation. Changing the
+     * category set bumps the post's own version, so the category sums only have to catch renames.
+     */
+    private ResourceVersion readPostVersion(Long id) {
+        List<Object[]> rows = postRepository.findVersionRow(id);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        LocalDateTime modified = row[2] != null ? (LocalDateTime) row[2] : (LocalDateTime) row[1];
+        String etag = "post-" + id + "-" + row[0] + "-" + row[6] + "-" + row[3] + "." + row[4] + "." + row[5];
+        return new ResourceVersion(etag, modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
     }
-}
 
+    private void addPendingLikes(List<PostSummaryDto> posts) {
+        for (PostSummaryDto post : posts) {
+            post.setLikeCount(post.getLikeCount() + postLikeCounter.pendingDelta(post.getId()));
+        }
+    }
+
+    private static void applySummary(Post post) {
+        String text = post.getContent() == null ? "" : post.getContent().trim().replaceAll("\\s+", " ");
+        post.setExcerpt(excerpt(text));
+        int words = text.isEmpty() ? 0 : text.split(" ").length;
+        post.setReadingTimeMinutes(Math.max(1, (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE));
+    }
+
+    /**
+     * The first EXCERPT_LENGTH characters of whitespace-normalized text, cut back to a word boundary.
+     */
+    private static String excerpt(String text) {
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int end = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        if (end <= 0) {
+            end = EXCERPT_LENGTH;
+        }
+        return text.substring(0, end) + "…";
+    }
+}
@@ -10,15 +10,12 @@ import com.webblog.mapper.UserMapper;
 import com.webblog.repository.CommentRepository;
 import com.webblog.repository.PostRepository;
 import com.webblog.repository.ReportRepository;
-import com.webblog.repository.UserRepository;
+import com.webblog.security.CurrentUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -33,13 +30,22 @@ public class ReportService {
     private CommentRepository commentRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUserResolver currentUserResolver;
 
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private StatsCounters statsCounters;
+
+    @Autowired
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
     public ReportDto createReport(ReportDto reportDto) {
-        User currentUser = getCurrentUser();
+        User currentUser = currentUserResolver.getCurrentUserReference();
         
         Report report = new Report();
         report.setReporter(currentUser);
@@ -63,37 +69,45 @@ public class ReportService {
         }
 
         Report savedReport = reportRepository.save(report);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.REPORTS, 1);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.PENDING_REPORTS, 1);
+        activityRollups.recordAfterCommit(ActivityRollups.Metric.REPORTS);
         return toDto(savedReport);
     }
 
+    @Transactional(readOnly = true)
     public List<ReportDto> getAllReports() {
-        List<Report> reports = reportRepository.findAllByOrderByCreatedAtDesc();
-        return reports.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return reportRepository.findAllReportDtos();
     }
 
+    @Transactional(readOnly = true)
     public List<ReportDto> getReportsByStatus(ReportStatus status) {
-        List<Report> reports = reportRepository.findByStatusOrderByCreatedAtDesc(status);
-        return reports.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return reportRepository.findReportDtosByStatus(status);
     }
 
     public ReportDto updateReportStatus(Long reportId, ReportStatus status) {
         Report report = reportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
         
+        boolean wasPending = report.getStatus() == ReportStatus.PENDING;
         report.setStatus(status);
         Report updatedReport = reportRepository.save(report);
+        if (wasPending != (status == ReportStatus.PENDING)) {
+            statsCounters.recordAfterCommit(StatsCounters.Counter.PENDING_REPORTS, wasPending ? -1 : 1);
+        }
+        auditLogService.logAction("SET_REPORT_STATUS_" + status.name(), "REPORT", reportId);
         return toDto(updatedReport);
     }
 
     public void deleteReport(Long reportId) {
-        if (!reportRepository.existsById(reportId)) {
-            throw new RuntimeException("Report not found");
+        Report report = reportRepository.findById(reportId)
+                .orElseThrow(() -> new RuntimeException("Report not found"));
+        reportRepository.delete(report);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.REPORTS, -1);
+        if (report.getStatus() == ReportStatus.PENDING) {
+            statsCounters.recordAfterCommit(StatsCounters.Counter.PENDING_REPORTS, -1);
         }
-        reportRepository.deleteById(reportId);
+        auditLogService.logAction("DELETE_REPORT", "REPORT", reportId);
     }
 
     private ReportDto toDto(Report report) {
@@ -115,12 +129,5 @@ public class ReportService {
         
         return dto;
     }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-    }
 }
 
@@ -1,20 +1,19 @@
 package com.webblog.service;
 
+import com.webblog.dto.PostSummaryDto;
 import com.webblog.dto.SavedPostDto;
-import com.webblog.entity.Post;
-import com.webblog.entity.SavedPost;
-import com.webblog.entity.User;
-import com.webblog.mapper.PostMapper;
 import com.webblog.repository.PostRepository;
 import com.webblog.repository.SavedPostRepository;
-import com.webblog.repository.UserRepository;
+import com.webblog.security.CurrentUserResolver;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,59 +26,69 @@ public class SavedPostService {
     private PostRepository postRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUserResolver currentUserResolver;
 
     @Autowired
-    private PostMapper postMapper;
+    private PostService postService;
 
+    /**
+     * Saves the post for the current user. Idempotent: saving twice leaves one saved row.
+     */
+    public void save(Long postId) {
+        Long userId = currentUserResolver.getCurrentPrincipal().getId();
+        if (savedPostRepository.insertIfAbsent(userId, postId, LocalDateTime.now()) == 0 && !postRepository.existsById(postId)) {
+            throw new RuntimeException("Post not found");
+        }
+    }
+
+    public void unsave(Long postId) {
+        savedPostRepository.deleteByUserIdAndPostId(currentUserResolver.getCurrentPrincipal().getId(), postId);
+    }
+
+    /**
+     * Kept for older clients; prefer {@link #save}/{@link #unsave}.
+     */
     public boolean toggleSave(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-        
-        User currentUser = getCurrentUser();
-        
-        boolean exists = savedPostRepository.existsByUserIdAndPostId(currentUser.getId(), postId);
-        
-        if (exists) {
-            savedPostRepository.deleteByUserIdAndPostId(currentUser.getId(), postId);
+        Long userId = currentUserResolver.getCurrentPrincipal().getId();
+        if (savedPostRepository.deleteByUserIdAndPostId(userId, postId) == 1) {
             return false; // Unsaved
-        } else {
-            SavedPost savedPost = new SavedPost(currentUser, post);
-            savedPostRepository.save(savedPost);
-            return true; // Saved
         }
+        save(postId);
+        return true; // Saved
     }
 
     public boolean isSavedByUser(Long postId, Long userId) {
         return savedPostRepository.existsByUserIdAndPostId(userId, postId);
     }
 
+    /**
+     * Resolves the saved rows first, then projects the referenced posts and their categories by id, so the
+     * list costs three flat queries however many posts are saved.
+     */
+    @Transactional(readOnly = true)
     public List<SavedPostDto> getSavedPostsByUser(Long userId) {
-        List<SavedPost> savedPosts = savedPostRepository.findByUserIdOrderBySavedAtDesc(userId);
-        return savedPosts.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
-    }
-
-    public List<SavedPostDto> getCurrentUserSavedPosts() {
-        User currentUser = getCurrentUser();
-        return getSavedPostsByUser(currentUser.getId());
-    }
+        List<Object[]> rows = savedPostRepository.findSavedRowsByUserId(userId);
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> postIds = rows.stream().map(row -> (Long) row[1]).collect(Collectors.toList());
+        Map<Long, PostSummaryDto> postsById = postService.getPostSummaries(postIds).stream()
+                .collect(Collectors.toMap(PostSummaryDto::getId, Function.identity()));
 
-    private SavedPostDto toDto(SavedPost savedPost) {
-        SavedPostDto dto = new SavedPostDto();
-        dto.setId(savedPost.getId());
-        dto.setUserId(savedPost.getUser().getId());
-        dto.setPost(postMapper.toDto(savedPost.getPost()));
-        dto.setSavedAt(savedPost.getSavedAt());
-        return dto;
+        List<SavedPostDto> savedPosts = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            SavedPostDto dto = new SavedPostDto();
+            dto.setId((Long) row[0]);
+            dto.setUserId(userId);
+            dto.setPost(postsById.get((Long) row[1]));
+            dto.setSavedAt((LocalDateTime) row[2]);
+            savedPosts.add(dto);
+        }
+        return savedPosts;
     }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Transactional(readOnly = true)
+    public List<SavedPostDto> getCurrentUserSavedPosts() {
+        return getSavedPostsByUser(currentUserResolver.getCurrentPrincipal().getId());
     }
 }
-
@@ -0,0 +1,205 @@
+package com.webblog.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Row counts for the admin dashboard, kept in memory and moved by the write paths instead of being
+ * recounted on every read (COUNT(*) is a full index scan on InnoDB).
+ *
+ * Deltas are applied after commit. The values are checkpointed to stats_counters so a restart starts
+ * from the last checkpoint rather than a full recount, and {@link #reconcile()} periodically replaces
+ * them with real counts to repair any drift, e.g. writes lost between the last checkpoint and a crash.
+ */
+@Component
+// Runs after Hibernate's schema update has created the counted tables
+@DependsOn("entityManagerFactory")
+public class StatsCounters {
+    private static final Logger log = LoggerFactory.getLogger(StatsCounters.class);
+
+    private static final String TABLE = "stats_counters";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO " + TABLE + " (name, counter_value, updated_at) VALUES (?, ?, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE counter_value = new.counter_value, updated_at = new.updated_at";
+
+    public enum Counter {
+        USERS("SELECT COUNT(*) FROM users"),
+        POSTS("SELECT COUNT(*) FROM posts"),
+        COMMENTS("SELECT COUNT(*) FROM comments"),
+        REPORTS("SELECT COUNT(*) FROM reports"),
+        PENDING_REPORTS("SELECT COUNT(*) FROM reports WHERE status = 'PENDING'");
+
+        private final String countSql;
+
+        Counter(String countSql) {
+            this.countSql = countSql;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    // Transactions between beforeCommit and afterCompletion, whose rows may or may not be counted yet
+    private final Map<Counter, AtomicInteger> committing = new EnumMap<>(Counter.class);
+    // Number of deltas applied, so a recount notices writes even when they cancel out
+    private final Map<Counter, AtomicLong> applied = new EnumMap<>(Counter.class);
+    private final Lock checkpointLock = new ReentrantLock();
+
+    public StatsCounters() {
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+            committing.put(counter, new AtomicInteger());
+            applied.put(counter, new AtomicLong());
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                + "name VARCHAR(64) NOT NULL PRIMARY KEY, "
+                + "counter_value BIGINT NOT NULL, "
+                + "updated_at DATETIME(6) NOT NULL)");
+
+        List<Counter> missing = new ArrayList<>(List.of(Counter.values()));
+        jdbcTemplate.query("SELECT name, counter_value FROM " + TABLE, rs -> {
+            Counter counter = parse(rs.getString(1));
+            if (counter != null) {
+                counters.get(counter).add(rs.getLong(2));
+                missing.remove(counter);
+            }
+        });
+        // First start, or a counter added since the last checkpoint
+        if (!missing.isEmpty()) {
+            missing.forEach(this::recount);
+            checkpoint();
+        }
+    }
+
+    /**
+     * Applies a delta once the surrounding transaction commits, so rolled-back writes never move a counter.
+     * While the transaction commits it is tracked as committing, so {@link #reconcile()} can tell that its
+     * rows may already be counted before the delta is applied.
+     */
+    public void recordAfterCommit(Counter counter, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(counter, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean tracked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing.get(counter).incrementAndGet();
+                tracked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(counter, delta);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (tracked) {
+                    committing.get(counter).decrementAndGet();
+                }
+            }
+        });
+    }
+
+    public long get(Counter counter) {
+        return counters.get(counter).sum();
+    }
+
+    @Scheduled(fixedDelayString = "${webblog.stats.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        checkpointLock.lock();
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = new ArrayList<>(counters.size());
+            counters.forEach((counter, value) -> rows.add(new Object[]{counter.name(), value.sum(), now}));
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces every counter with a real count. A counter with a write committing, or a delta applied, while
+     * it was being counted is left for the next run, since the count may or may not include that write.
+     */
+    @Scheduled(initialDelayString = "${webblog.stats.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${webblog.stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        for (Counter counter : Counter.values()) {
+            recount(counter);
+        }
+        checkpoint();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            log.warn("Failed to checkpoint stats counters at shutdown", e);
+        }
+    }
+
+    private void apply(Counter counter, long delta) {
+        counters.get(counter).add(delta);
+        applied.get(counter).incrementAndGet();
+    }
+
+    private void recount(Counter counter) {
+        LongAdder value = counters.get(counter);
+        long changes = applied.get(counter).get();
+        Long actual = jdbcTemplate.queryForObject(counter.countSql, Long.class);
+        // Read in this order: a transaction counted but not yet applied is either still committing here,
+        // or has applied its delta by the time changes are compared
+        boolean quiet = committing.get(counter).get() == 0;
+        long current = value.sum();
+        if (actual == null || !quiet || applied.get(counter).get() != changes) {
+            return;
+        }
+        if (actual != current) {
+            log.info("Reconciled {} counter from {} to {}", counter, current, actual);
+            value.add(actual - current);
+        }
+    }
+
+    private static Counter parse(String name) {
+        try {
+            return Counter.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
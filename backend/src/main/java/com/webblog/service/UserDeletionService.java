@@ -0,0 +1,304 @@
+package com.webblog.service;
+
+import com.webblog.dto.UserDeletionStatusDto;
+import com.webblog.entity.ReportStatus;
+import com.webblog.entity.User;
+import com.webblog.repository.AuditLogRepository;
+import com.webblog.repository.CommentReplyRepository;
+import com.webblog.repository.CommentRepository;
+import com.webblog.repository.PostLikeRepository;
+import com.webblog.repository.PostRepository;
+import com.webblog.repository.ReportRepository;
+import com.webblog.repository.SavedPostRepository;
+import com.webblog.repository.UserRepository;
+import com.webblog.security.PrincipalCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes a user and everything hanging off the account with bulk DELETE statements keyed on the user
+ * and post ids, in foreign key order: replies, reports, comments, likes, saves, category links, posts,
+ * then the user row. Nothing is loaded as entities and no JPA cascades run.
+ *
+ * Accounts with up to {@code webblog.users.deletion.sync-post-limit} posts are deleted in the calling
+ * request, in one transaction. Larger ones are disabled first and then deleted by a background job that
+ * commits one chunk of posts per transaction and reports progress through {@link #getStatus(Long)}; a
+ * failed job can simply be started again, since every step only deletes what is still there.
+ */
+@Service
+public class UserDeletionService {
+    private static final Logger log = LoggerFactory.getLogger(UserDeletionService.class);
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentReplyRepository commentReplyRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private SavedPostRepository savedPostRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private CategoryPostIndex categoryPostIndex;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private PostLikeCounter postLikeCounter;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private StatsCounters statsCounters;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${webblog.users.deletion.sync-post-limit:1000}")
+    private long syncPostLimit;
+
+    @Value("${webblog.users.deletion.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private TransactionTemplate transactionTemplate;
+    // One job at a time, so a large deletion cannot saturate the connection pool
+    private ExecutorService executor;
+    private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Follows the request threads: virtual when enabled and the runtime supports them
+        ThreadFactory threadFactory = virtualThreads && Runtime.version().feature() >= 21
+                ? new VirtualThreadTaskExecutor("user-deletion-").getVirtualThreadFactory()
+                : runnable -> {
+                    Thread thread = new Thread(runnable, "user-deletion");
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Deletes the user inline, or starts a background job for large accounts. The returned status is
+     * COMPLETED in the first case and RUNNING in the second.
+     */
+    public UserDeletionStatusDto deleteUser(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        long totalPosts = postRepository.countByAuthorId(userId);
+
+        Job job = new Job(userId, user.getEmail(), totalPosts);
+        Job existing = jobs.putIfAbsent(userId, job);
+        if (existing != null) {
+            if (RUNNING.equals(existing.state)) {
+                return existing.toDto();
+            }
+            jobs.put(userId, job);
+        }
+
+        if (totalPosts <= syncPostLimit) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> run(job));
+            } catch (RuntimeException e) {
+                job.fail(e);
+                throw e;
+            }
+            job.complete();
+            // Only background jobs need to stay visible
+            jobs.remove(userId, job);
+            return job.toDto();
+        }
+
+        // Locked out before the first chunk, so the user cannot add posts while the job deletes them
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.disableUser(userId);
+            principalCache.evict(job.email);
+            userProfileCache.invalidate(userId);
+        });
+        log.info("Deleting user {} with {} posts in the background", userId, totalPosts);
+        executor.execute(() -> {
+            try {
+                run(job);
+                job.complete();
+                log.info("Deleted user {} ({} posts)", userId, job.deletedPosts);
+            } catch (RuntimeException e) {
+                job.fail(e);
+                log.error("Deleting user {} failed after {} posts", userId, job.deletedPosts, e);
+            }
+        });
+        return job.toDto();
+    }
+
+    /**
+     * Progress of the user's most recent background deletion.
+     */
+    public UserDeletionStatusDto getStatus(Long userId) {
+        Job job = jobs.get(userId);
+        if (job == null) {
+            throw new RuntimeException("No deletion in progress for this user");
+        }
+        return job.toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        // An interrupted job stops between chunks; whatever committed stays deleted
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void run(Job job) {
+        Long userId = job.userId;
+        List<Long> postIds;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new RuntimeException("Deletion interrupted");
+            }
+            // Deleted rows drop out of the result, so the first page is always the next chunk
+            postIds = transactionTemplate.execute(status -> {
+                List<Long> chunk = postRepository.findIdsByAuthorId(userId, PageRequest.of(0, chunkSize));
+                if (!chunk.isEmpty()) {
+                    deletePosts(chunk);
+                }
+                return chunk;
+            });
+            job.deletedPosts += postIds.size();
+        } while (postIds.size() == chunkSize);
+
+        transactionTemplate.executeWithoutResult(status -> deleteAccount(userId, job.email));
+    }
+
+    private void deletePosts(List<Long> postIds) {
+        commentReplyRepository.deleteAllOnPosts(postIds);
+        long pendingReports = reportRepository.countOnPostsByStatus(postIds, ReportStatus.PENDING);
+        int reports = reportRepository.deleteAllOnPosts(postIds);
+        int comments = commentRepository.deleteAllByPostIdIn(postIds);
+        postLikeRepository.deleteAllByPostIdIn(postIds);
+        savedPostRepository.deleteAllByPostIdIn(postIds);
+        postRepository.deleteCategoryLinksByPostIds(postIds);
+        int posts = postRepository.deleteAllByIdIn(postIds);
+        recordDeletions(posts, comments, reports, pendingReports);
+
+        postSearchService.removeAfterCommit(postIds);
+        TransactionCallbacks.afterCommit(() -> categoryPostIndex.removePosts(postIds));
+        postIds.forEach(postDetailCache::invalidate);
+    }
+
+    private void deleteAccount(Long userId, String email) {
+        List<Long> commentedPostIds = commentRepository.findPostIdsWithCommentsBy(userId);
+        commentReplyRepository.deleteAllByOrUnderUser(userId);
+        long pendingReports = reportRepository.countByOrAboutUserAndStatus(userId, ReportStatus.PENDING);
+        int reports = reportRepository.deleteAllByOrAboutUser(userId);
+        int comments = commentRepository.deleteAllByAuthorId(userId);
+        if (!commentedPostIds.isEmpty()) {
+            postRepository.recountComments(commentedPostIds);
+        }
+
+        // Likes on other users' posts are folded into their like_count
+        List<Long> likedPostIds = postLikeRepository.findPostIdsLikedBy(userId);
+        postLikeRepository.deleteAllByUserId(userId);
+        likedPostIds.forEach(postId -> postLikeCounter.recordAfterCommit(postId, -1));
+
+        savedPostRepository.deleteAllByUserId(userId);
+        auditLogRepository.clearActor(userId);
+        TransactionCallbacks.afterCommit(() -> auditLogWriter.clearActor(userId));
+        int users = userRepository.deleteUserRow(userId);
+        recordDeletions(0, comments, reports, pendingReports);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.USERS, -users);
+
+        principalCache.evict(email);
+        userProfileCache.invalidate(userId);
+        postDetailCache.invalidateIf(post -> userId.equals(post.getAuthorId()));
+    }
+
+    private void recordDeletions(long posts, long comments, long reports, long pendingReports) {
+        statsCounters.recordAfterCommit(StatsCounters.Counter.POSTS, -posts);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.COMMENTS, -comments);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.REPORTS, -reports);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.PENDING_REPORTS, -pendingReports);
+    }
+
+    private static final class Job {
+        private final Long userId;
+        private final String email;
+        private final long totalPosts;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile String state = RUNNING;
+        private volatile long deletedPosts;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(Long userId, String email, long totalPosts) {
+            this.userId = userId;
+            this.email = email;
+            this.totalPosts = totalPosts;
+        }
+
+        private void complete() {
+            finishedAt = LocalDateTime.now();
+            state = COMPLETED;
+        }
+
+        private void fail(RuntimeException e) {
+            error = e.getMessage();
+            finishedAt = LocalDateTime.now();
+            state = FAILED;
+        }
+
+        private UserDeletionStatusDto toDto() {
+            return new UserDeletionStatusDto(userId, state, totalPosts, deletedPosts, startedAt, finishedAt, error);
+        }
+    }
+}
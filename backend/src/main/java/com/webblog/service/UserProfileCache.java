@@ -0,0 +1,100 @@
+package com.webblog.service;
+
+import com.webblog.dto.ProfileActivityDto;
+import com.webblog.dto.UserDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of the parts of a user's profile that only that user's own writes change:
+ * the comments they wrote and their recent activity. Every write by a user calls {@link #invalidate(Long)}
+ * for that user. Post, comment-received and like-received totals move with other users' actions, so they
+ * are not cached here.
+ */
+@Component
+public class UserProfileCache {
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${webblog.cache.user-profile.ttl-ms:60000}")
+    private long ttlMillis;
+
+    @Value("${webblog.cache.user-profile.max-size:10000}")
+    private int maxSize;
+
+    public static final class Aggregate {
+        private final UserDto user;
+        private final long commentsWritten;
+        private final List<ProfileActivityDto> recentActivity;
+
+        public Aggregate(UserDto user, long commentsWritten, List<ProfileActivityDto> recentActivity) {
+            this.user = user;
+            this.commentsWritten = commentsWritten;
+            this.recentActivity = List.copyOf(recentActivity);
+        }
+
+        public UserDto getUser() {
+            return user;
+        }
+
+        public long getCommentsWritten() {
+            return commentsWritten;
+        }
+
+        public List<ProfileActivityDto> getRecentActivity() {
+            return recentActivity;
+        }
+    }
+
+    public Aggregate get(Long userId, Function<Long, Aggregate> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.aggregate;
+        }
+
+        Aggregate aggregate = loader.apply(userId);
+        if (entries.size() >= maxSize) {
+            evictOldest(now);
+        }
+        entries.put(userId, new Entry(aggregate, now + ttlMillis));
+        return aggregate;
+    }
+
+    /**
+     * Drops the user's aggregate now and again once the surrounding transaction commits, so a profile read
+     * racing the commit cannot re-cache the old state.
+     */
+    public void invalidate(Long userId) {
+        entries.remove(userId);
+        TransactionCallbacks.afterCommit(() -> entries.remove(userId));
+    }
+
+    private void evictOldest(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        if (excess > 0) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+    }
+
+    private static final class Entry {
+        private final Aggregate aggregate;
+        private final long expiresAt;
+
+        private Entry(Aggregate aggregate, long expiresAt) {
+            this.aggregate = aggregate;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
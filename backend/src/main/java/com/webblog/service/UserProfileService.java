@@ -0,0 +1,111 @@
+package com.webblog.service;
+
+import com.webblog.dto.FeedCursor;
+import com.webblog.dto.PostSummaryDto;
+import com.webblog.dto.ProfileActivityDto;
+import com.webblog.dto.UserProfileDto;
+import com.webblog.entity.User;
+import com.webblog.mapper.UserMapper;
+import com.webblog.repository.CommentReplyRepository;
+import com.webblog.repository.CommentRepository;
+import com.webblog.repository.PostLikeRepository;
+import com.webblog.repository.PostRepository;
+import com.webblog.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A user's profile in one call: totals, recent activity and a keyset page of their posts. Everything comes
+ * from aggregate queries on per-user indexes. What only the user's own writes change (comments written and
+ * recent activity) is cached per user in {@link UserProfileCache}; the post totals, which other users'
+ * comments and likes move, are read on every call along with the posts page.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UserProfileService {
+    public static final int DEFAULT_POSTS_PAGE_SIZE = 10;
+    public static final int MAX_POSTS_PAGE_SIZE = 50;
+    public static final int RECENT_ACTIVITY_SIZE = 10;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentReplyRepository commentReplyRepository;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    public UserProfileDto getProfile(Long userId, FeedCursor after, int size) {
+        UserProfileCache.Aggregate aggregate = userProfileCache.get(userId, this::loadAggregate);
+        // [postCount, commentsReceived, likesReceived]; one indexed aggregate over the author's posts
+        Object[] totals = postRepository.findAuthorTotals(userId).get(0);
+
+        int pageSize = Math.max(1, Math.min(size, MAX_POSTS_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, pageSize);
+        List<Long> ids = after == null
+                ? postRepository.findIdsByAuthorIdNewestFirst(userId, page)
+                : postRepository.findIdsByAuthorIdNewestFirstAfter(userId, after.getCreatedAt(), after.getId(), page);
+        List<PostSummaryDto> posts = postService.getPostSummaries(ids);
+
+        UserProfileDto dto = new UserProfileDto();
+        dto.setUser(aggregate.getUser());
+        dto.setPostCount(((Number) totals[0]).longValue());
+        dto.setCommentsWritten(aggregate.getCommentsWritten());
+        dto.setCommentsReceived(((Number) totals[1]).longValue());
+        dto.setLikesReceived(((Number) totals[2]).longValue());
+        dto.setRecentActivity(aggregate.getRecentActivity());
+        dto.setPosts(posts);
+        if (ids.size() == pageSize && !posts.isEmpty()) {
+            PostSummaryDto last = posts.get(posts.size() - 1);
+            dto.setNextCursor(new FeedCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return dto;
+    }
+
+    private UserProfileCache.Aggregate loadAggregate(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        long commentsWritten = commentRepository.countByAuthorId(userId) + commentReplyRepository.countByAuthorId(userId);
+
+        // Newest few of each kind, merged; each list is already bounded by RECENT_ACTIVITY_SIZE
+        PageRequest recent = PageRequest.of(0, RECENT_ACTIVITY_SIZE);
+        List<ProfileActivityDto> activity = new ArrayList<>();
+        addActivity(activity, "POST", postRepository.findRecentPostRows(userId, recent));
+        addActivity(activity, "COMMENT", commentRepository.findRecentActivityRows(userId, recent));
+        addActivity(activity, "REPLY", commentReplyRepository.findRecentActivityRows(userId, recent));
+        addActivity(activity, "LIKE", postLikeRepository.findRecentActivityRows(userId, recent));
+        activity.sort(Comparator.comparing(ProfileActivityDto::getCreatedAt).reversed());
+
+        return new UserProfileCache.Aggregate(userMapper.toDto(user), commentsWritten,
+                activity.subList(0, Math.min(activity.size(), RECENT_ACTIVITY_SIZE)));
+    }
+
+    private static void addActivity(List<ProfileActivityDto> activity, String type, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            activity.add(new ProfileActivityDto(type, (Long) row[0], (String) row[1], (LocalDateTime) row[2]));
+        }
+    }
+}
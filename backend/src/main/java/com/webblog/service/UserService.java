@@ -1,15 +1,16 @@
 package com.webblog.service;
 
+import com.webblog.dto.UserDeletionStatusDto;
 import com.webblog.dto.UserDto;
 import com.webblog.entity.Role;
 import com.webblog.entity.User;
 import com.webblog.mapper.UserMapper;
-import com.webblog.repository.PostRepository;
-import com.webblog.repository.ReportRepository;
 import com.webblog.repository.UserRepository;
+import com.webblog.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -28,10 +29,25 @@ public class UserService {
     private PasswordEncoder passwordEncoder;
 
     @Autowired
-    private PostRepository postRepository;
+    private UserDeletionService userDeletionService;
 
     @Autowired
-    private ReportRepository reportRepository;
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private PostDetailCache postDetailCache;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private StatsCounters statsCounters;
+
+    @Autowired
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private AuditLogService auditLogService;
 
     public UserDto registerUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
@@ -41,6 +57,8 @@ public class UserService {
         user.setRole(Role.ROLE_USER);
         user.setEnabled(true);
         User savedUser = userRepository.save(user);
+        statsCounters.recordAfterCommit(StatsCounters.Counter.USERS, 1);
+        activityRollups.recordAfterCommit(ActivityRollups.Metric.REGISTRATIONS);
         return userMapper.toDto(savedUser);
     }
 
@@ -109,34 +127,19 @@ public class UserService {
         return userMapper.toDto(user);
     }
 
-    public void deleteUser(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        // Delete all reports related to user's posts first
-        List<com.webblog.entity.Post> userPosts = postRepository.findAll().stream()
-                .filter(post -> post.getAuthor().getId().equals(id))
-                .collect(Collectors.toList());
-
-        for (com.webblog.entity.Post post : userPosts) {
-            // Delete reports for this post
-            List<com.webblog.entity.Report> reportsToDelete = reportRepository.findByPostId(post.getId());
-            if (!reportsToDelete.isEmpty()) {
-                reportRepository.deleteAll(reportsToDelete);
-            }
-        }
-
-        // Delete user's posts (which will cascade delete comments)
-        postRepository.deleteAll(userPosts);
-
-        // Delete reports where user is the reporter
-        List<com.webblog.entity.Report> reporterReports = reportRepository.findByReporterId(id);
-        if (!reporterReports.isEmpty()) {
-            reportRepository.deleteAll(reporterReports);
-        }
+    /**
+     * Runs outside a transaction: {@link UserDeletionService} manages its own, one per chunk for large accounts.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDeletionStatusDto deleteUser(Long id) {
+        UserDeletionStatusDto status = userDeletionService.deleteUser(id);
+        auditLogService.logAction("DELETE_USER", "USER", id);
+        return status;
+    }
 
-        // Finally delete the user
-        userRepository.deleteById(id);
+    @Transactional(readOnly = true)
+    public UserDeletionStatusDto getDeletionStatus(Long id) {
+        return userDeletionService.getStatus(id);
     }
 
     public UserDto toggleBlockUser(Long id) {
@@ -144,6 +147,11 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setIsBlocked(!user.getIsBlocked());
         User updatedUser = userRepository.save(user);
+        principalCache.evict(user.getEmail());
+        userProfileCache.invalidate(id);
+        // Cached post details embed the author's block state
+        postDetailCache.invalidateIf(post -> id.equals(post.getAuthorId()));
+        auditLogService.logAction(updatedUser.getIsBlocked() ? "BLOCK_USER" : "UNBLOCK_USER", "USER", id);
         return userMapper.toDto(updatedUser);
     }
 
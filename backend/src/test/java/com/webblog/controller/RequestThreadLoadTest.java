@@ -0,0 +1,182 @@
+package com.webblog.controller;
+
+import com.webblog.entity.User;
+import com.webblog.repository.UserRepository;
+import com.webblog.security.AuthenticatedUser;
+import com.webblog.security.JwtUtil;
+import com.webblog.service.ActivityRollups;
+import com.webblog.service.StatsCounters;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load on GET /api/posts and POST /api/post-likes/{id}/toggle with platform and with virtual request threads.
+ * Runs with -Dwebblog.benchmark=true; the virtual-thread half needs a Java 21 runtime.
+ */
+@EnabledIfSystemProperty(named = "webblog.benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+// Its own database, so these contexts do not drop the schema under the other tests' context
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:webblog-load-platform;" + RequestThreadLoadTest.H2_MODE
+})
+class RequestThreadLoadTest {
+    static final String H2_MODE = "MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1";
+    private static final int POSTS = 50;
+    private static final int USERS = 50;
+    private static final long FIRST_POST_ID = 6_000_000L;
+
+    // These write with MySQL upsert syntax that H2 does not parse
+    @MockBean
+    private StatsCounters statsCounters;
+
+    @MockBean
+    private ActivityRollups activityRollups;
+
+    @Nested
+    class PlatformThreads extends LoadRun {
+    }
+
+    @Nested
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @TestPropertySource(properties = {
+            "spring.threads.virtual.enabled=true",
+            "spring.datasource.url=jdbc:h2:mem:webblog-load-virtual;" + H2_MODE
+    })
+    class VirtualThreads extends LoadRun {
+    }
+
+    // Injected per nested class, so each run talks to its own server
+    abstract class LoadRun {
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private JwtUtil jwtUtil;
+
+        @Autowired
+        private Environment environment;
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void servesPostsAndLikeToggles() throws Exception {
+            String mode = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false) ? "virtual" : "platform";
+            int requests = Integer.getInteger("webblog.benchmark.requests", 5_000);
+            int concurrency = Integer.getInteger("webblog.benchmark.concurrency", 200);
+            List<String> tokens = seed(userRepository, jdbcTemplate, jwtUtil);
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://localhost:" + port;
+
+            IntFunction<HttpRequest> listPosts = i -> HttpRequest.newBuilder(URI.create(base + "/api/posts")).GET().build();
+            IntFunction<HttpRequest> toggleLike = i -> HttpRequest.newBuilder(
+                            URI.create(base + "/api/post-likes/" + (FIRST_POST_ID + i % POSTS) + "/toggle"))
+                    .header("Authorization", "Bearer " + tokens.get(i % USERS))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+
+            // One untimed round to warm up both endpoints
+            load(client, listPosts, concurrency, concurrency);
+            load(client, toggleLike, concurrency, concurrency);
+            report(mode, "GET /api/posts", load(client, listPosts, requests, concurrency), concurrency);
+            report(mode, "POST /api/post-likes/{id}/toggle", load(client, toggleLike, requests, concurrency), concurrency);
+        }
+    }
+
+    private static List<String> seed(UserRepository userRepository, JdbcTemplate jdbcTemplate, JwtUtil jwtUtil) {
+        User author = userRepository.save(new User("Load Author", "load-author@example.com", "password"));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            rows.add(new Object[]{FIRST_POST_ID + i, "Post " + i, "Content of post " + i, author.getId(), now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO posts (id, title, content, author_id, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+
+        List<String> tokens = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            User user = userRepository.save(new User("Load User " + u, "load-" + u + "@example.com", "password"));
+            tokens.add(jwtUtil.generateToken(new AuthenticatedUser(user)));
+        }
+        return tokens;
+    }
+
+    // Sends the requests from a fixed number of client threads; returns the latencies and the wall time, last
+    private static long[] load(HttpClient client, IntFunction<HttpRequest> request, int requests, int concurrency)
+            throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long[] nanos = new long[requests + 1];
+        long start = System.nanoTime();
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                int first = c;
+                Callable<Void> sender = () -> {
+                    for (int i = first; i < requests; i += concurrency) {
+                        long sent = System.nanoTime();
+                        HttpResponse<String> response = client.send(request.apply(i), HttpResponse.BodyHandlers.ofString());
+                        nanos[i] = System.nanoTime() - sent;
+                        assertThat(response.statusCode()).isEqualTo(200);
+                    }
+                    return null;
+                };
+                results.add(clients.submit(sender));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        nanos[requests] = System.nanoTime() - start;
+        return nanos;
+    }
+
+    private static void report(String mode, String endpoint, long[] result, int concurrency) {
+        long wallNanos = result[result.length - 1];
+        long[] latencies = Arrays.copyOf(result, result.length - 1);
+        Arrays.sort(latencies);
+        System.out.printf("%s threads, %s: %d requests from %d clients, %.0f req/s, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms%n",
+                mode, endpoint, latencies.length, concurrency,
+                latencies.length * (double) TimeUnit.SECONDS.toNanos(1) / wallNanos,
+                percentileMillis(latencies, 50), percentileMillis(latencies, 95), percentileMillis(latencies, 99));
+    }
+
+    private static double percentileMillis(long[] sortedNanos, int percentile) {
+        int index = Math.min(sortedNanos.length - 1, sortedNanos.length * percentile / 100);
+        return sortedNanos[index] / 1_000_000.0;
+    }
+}
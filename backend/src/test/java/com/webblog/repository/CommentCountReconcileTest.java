@@ -0,0 +1,81 @@
+package com.webblog.repository;
+
+import com.webblog.entity.Comment;
+import com.webblog.entity.CommentReply;
+import com.webblog.entity.Post;
+import com.webblog.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * comment_count repairs, which must run on H2 as well as MySQL.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CommentCountReconcileTest {
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Test
+    void reconcileRepairsOnlyCorruptedCounts() {
+        User author = persist(new User("Ada", "ada@example.com", "secret1"));
+        Post discussed = persist(new Post("Discussed", "Content", author));
+        Post quiet = persist(new Post("Quiet", "Content", author));
+        Comment comment = persist(new Comment("First", author, discussed));
+        persist(new Comment("Second", author, discussed));
+        persist(new CommentReply(comment, author, "Reply"));
+        entityManager.flush();
+        setCommentCount(discussed, 7);
+        setCommentCount(quiet, 0);
+
+        int repaired = postRepository.reconcileCommentCounts();
+
+        assertThat(repaired).isEqualTo(1);
+        assertThat(commentCount(discussed)).isEqualTo(3);
+        assertThat(commentCount(quiet)).isZero();
+        assertThat(postRepository.reconcileCommentCounts()).isZero();
+    }
+
+    @Test
+    void recountRewritesTheGivenPosts() {
+        User author = persist(new User("Grace", "grace@example.com", "secret2"));
+        Post post = persist(new Post("Recounted", "Content", author));
+        persist(new CommentReply(persist(new Comment("Only", author, post)), author, "Reply"));
+        entityManager.flush();
+        setCommentCount(post, 40);
+
+        postRepository.recountComments(List.of(post.getId()));
+
+        assertThat(commentCount(post)).isEqualTo(2);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    private void setCommentCount(Post post, long count) {
+        entityManager.createNativeQuery("UPDATE posts SET comment_count = ? WHERE id = ?")
+                .setParameter(1, count)
+                .setParameter(2, post.getId())
+                .executeUpdate();
+    }
+
+    private long commentCount(Post post) {
+        return ((Number) entityManager.createNativeQuery("SELECT comment_count FROM posts WHERE id = ?")
+                .setParameter(1, post.getId())
+                .getSingleResult()).longValue();
+    }
+}
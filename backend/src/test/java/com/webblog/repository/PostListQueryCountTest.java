@@ -0,0 +1,122 @@
+package com.webblog.repository;
+
+import com.webblog.dto.PostSummaryDto;
+import com.webblog.dto.ReportDto;
+import com.webblog.entity.Category;
+import com.webblog.entity.Post;
+import com.webblog.entity.Report;
+import com.webblog.entity.SavedPost;
+import com.webblog.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The list read paths load a whole page, with authors and categories, in a fixed number of statements.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PostListQueryCountTest {
+    private static final int POSTS = 30;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private SavedPostRepository savedPostRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    private Statistics statistics;
+    private User reader;
+    private Long firstPostId;
+
+    @BeforeEach
+    void setUp() {
+        List<User> authors = List.of(
+                persist(new User("Ada", "ada@example.com", "secret1")),
+                persist(new User("Grace", "grace@example.com", "secret2")));
+        reader = persist(new User("Reader", "reader@example.com", "secret3"));
+        List<Category> categories = List.of(
+                persist(new Category("java")), persist(new Category("sql")), persist(new Category("web")));
+
+        for (int i = 0; i < POSTS; i++) {
+            Post post = new Post("Post " + i, "Content " + i, authors.get(i % authors.size()));
+            post.setCategories(List.of(categories.get(i % 3), categories.get((i + 1) % 3)));
+            persist(post);
+            persist(new SavedPost(reader, post));
+            persist(new Report(authors.get((i + 1) % authors.size()), post, null, "Reason " + i));
+            if (firstPostId == null) {
+                firstPostId = post.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void feedPageTakesThreeStatementsWhateverItsSize() {
+        List<Long> ids = postRepository.findFeedIds(PageRequest.of(0, 20));
+        List<PostSummaryDto> posts = postRepository.findPostSummariesByIds(ids);
+        List<Object[]> categoryRows = postRepository.findPostCategoryRowsByPostIds(ids);
+
+        assertThat(posts).hasSize(20);
+        assertThat(posts).allSatisfy(post -> assertThat(post.getAuthor().getName()).isNotBlank());
+        assertThat(categoryRows).hasSize(40);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void postDetailLoadsAuthorAndCategoriesInOneStatement() {
+        Post post = postRepository.findById(firstPostId).orElseThrow();
+
+        assertThat(post.getAuthor().getName()).isNotBlank();
+        assertThat(post.getCategories()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void savedPostsAreListedInOneStatement() {
+        List<Object[]> rows = savedPostRepository.findSavedRowsByUserId(reader.getId());
+
+        assertThat(rows).hasSize(POSTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reportListLoadsReportersInOneStatement() {
+        List<ReportDto> reports = reportRepository.findAllReportDtos();
+
+        assertThat(reports).hasSize(POSTS);
+        assertThat(reports).allSatisfy(report -> assertThat(report.getReporter().getName()).isNotBlank());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
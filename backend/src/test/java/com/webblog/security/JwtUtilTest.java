@@ -0,0 +1,131 @@
+package com.webblog.security;
+
+import com.webblog.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Token verification and the verified-claims cache. The verify-cost benchmark runs with -Dwebblog.benchmark=true.
+ */
+class JwtUtilTest {
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationThatIsAtLeast512BitsLongForTheHS512Algorithm";
+    private static final int VERIFICATIONS = 100_000;
+
+    private final JwtClaimsCache cache = cache(10_000);
+    private final AuthenticatedUser user = new AuthenticatedUser(new User("Ada", "ada@example.com", "secret"));
+
+    @Test
+    void cachedTokenExpiresAtItsExp() throws InterruptedException {
+        JwtUtil jwtUtil = jwtUtil(cache, 1_000L);
+        String token = jwtUtil.generateToken(user);
+
+        assertThat(jwtUtil.validateToken(token, user)).isTrue();
+        assertThat(cache.get(token)).isNotNull();
+
+        // exp has whole-second precision, so the token lapses within the second after issue
+        Thread.sleep(jwtUtil.extractExpiration(token).getTime() - System.currentTimeMillis() + 50);
+
+        assertThat(cache.get(token)).isNull();
+        assertThatThrownBy(() -> jwtUtil.extractUsername(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void tamperedTokenWithTheSameSubjectMissesTheCacheAndFailsVerification() {
+        JwtUtil jwtUtil = jwtUtil(cache, 60_000L);
+        String token = jwtUtil.generateToken(user);
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("ada@example.com");
+
+        // Same subject and signature, later expiry: the claims no longer match the signature
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replaceFirst("\"exp\":\\d+", "\"exp\":" + (System.currentTimeMillis() / 1000 + 86_400));
+        String tampered = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+
+        assertThat(tampered).isNotEqualTo(token);
+        assertThat(cache.get(tampered)).isNull();
+        assertThatThrownBy(() -> jwtUtil.extractUsername(tampered)).isInstanceOf(JwtException.class);
+        assertThat(cache.get(tampered)).isNull();
+    }
+
+    @Test
+    void fullCacheDropsExpiredEntriesFirstAndOtherwiseClears() {
+        JwtClaimsCache small = cache(3);
+        long now = System.currentTimeMillis();
+        small.put("live-1", claims(now + 60_000));
+        small.put("live-2", claims(now + 60_000));
+        small.put("expired", claims(now - 1));
+
+        small.put("live-3", claims(now + 60_000));
+        assertThat(small.get("live-1")).isNotNull();
+        assertThat(small.get("live-2")).isNotNull();
+        assertThat(small.get("live-3")).isNotNull();
+
+        small.put("live-4", claims(now + 60_000));
+        assertThat(small.get("live-1")).isNull();
+        assertThat(small.get("live-2")).isNull();
+        assertThat(small.get("live-3")).isNull();
+        assertThat(small.get("live-4")).isNotNull();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "webblog.benchmark", matches = "true")
+    void comparesVerifyCostWithAndWithoutTheCache() {
+        JwtUtil cached = jwtUtil(cache, 60_000L);
+        // A cache that never hits: every lookup verifies the signature
+        JwtUtil uncached = jwtUtil(mock(JwtClaimsCache.class), 60_000L);
+        String token = cached.generateToken(user);
+
+        double cachedMicros = microsPerVerification(cached, token);
+        double uncachedMicros = microsPerVerification(uncached, token);
+
+        System.out.printf("Token verification: %.2f us with the claims cache, %.2f us without (%.1fx)%n",
+                cachedMicros, uncachedMicros, uncachedMicros / cachedMicros);
+        assertThat(cachedMicros).isLessThan(uncachedMicros);
+    }
+
+    private double microsPerVerification(JwtUtil jwtUtil, String token) {
+        // An untimed pass to warm up
+        for (int i = 0; i < VERIFICATIONS; i++) {
+            jwtUtil.validateToken(token, user);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < VERIFICATIONS; i++) {
+            jwtUtil.validateToken(token, user);
+        }
+        return (System.nanoTime() - start) / (double) TimeUnit.MICROSECONDS.toNanos(1) / VERIFICATIONS;
+    }
+
+    private static JwtUtil jwtUtil(JwtClaimsCache cache, Long expiration) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expiration);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCache", cache);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private static JwtClaimsCache cache(int maxSize) {
+        JwtClaimsCache cache = new JwtClaimsCache();
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        return cache;
+    }
+
+    private static Claims claims(long expiresAt) {
+        return Jwts.claims().subject("ada@example.com").expiration(new Date(expiresAt)).build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.webblog.service;
+
+import com.webblog.dto.ActivityBucketDto;
+import com.webblog.dto.ActivitySeriesDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hour and day reads from activity_rollups. The range-read benchmark runs with -Dwebblog.benchmark=true.
+ */
+class ActivityRollupsTest {
+    private static final int INSERT_BATCH = 5_000;
+    private static final int READS = 200;
+
+    private final SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+            "jdbc:h2:mem:activity-rollups;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE", true);
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final ActivityRollups rollups = new ActivityRollups();
+
+    ActivityRollupsTest() {
+        ReflectionTestUtils.setField(rollups, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void addsTheFlushColumnToAnOlderTableAndReadsItsBuckets() {
+        jdbcTemplate.execute("CREATE TABLE activity_rollups (resolution CHAR(1) NOT NULL, bucket_start DATETIME NOT NULL, "
+                + "posts INT UNSIGNED NOT NULL, comments INT UNSIGNED NOT NULL, likes INT UNSIGNED NOT NULL, "
+                + "registrations INT UNSIGNED NOT NULL, reports INT UNSIGNED NOT NULL, "
+                + "PRIMARY KEY (resolution, bucket_start))");
+        rollups.init();
+        // A second start finds the column and leaves the table alone
+        rollups.init();
+
+        LocalDateTime day = LocalDateTime.of(2024, 3, 10, 0, 0);
+        insert(List.of(
+                row("H", day.plusHours(1), 1),
+                row("H", day.plusHours(3), 2),
+                row("D", day, 3)));
+
+        ActivitySeriesDto hours = rollups.getSeries(ActivityRollups.Resolution.HOUR, day, day.plusHours(4));
+        assertThat(hours.getBuckets()).extracting(ActivityBucketDto::getPosts).containsExactly(0L, 1L, 0L, 2L);
+        ActivitySeriesDto days = rollups.getSeries(ActivityRollups.Resolution.DAY, day.minusDays(1), day.plusDays(1));
+        assertThat(days.getBuckets()).extracting(ActivityBucketDto::getPosts).containsExactly(0L, 3L);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "webblog.benchmark", matches = "true")
+    void readsHourAndDayRangesFromAPopulatedTable() {
+        int days = Integer.getInteger("webblog.benchmark.days", 3_650);
+        rollups.init();
+        LocalDateTime first = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(days);
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int d = 0; d < days; d++) {
+            rows.add(row("D", first.plusDays(d), d));
+            for (int h = 0; h < 24; h++) {
+                rows.add(row("H", first.plusDays(d).plusHours(h), h));
+            }
+            if (rows.size() >= INSERT_BATCH || d == days - 1) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+
+        Random random = new Random(42);
+        long[] hourNanos = time(() -> {
+            LocalDateTime from = first.plusHours(random.nextInt(days * 24 - 24));
+            rollups.getSeries(ActivityRollups.Resolution.HOUR, from, from.plusHours(24));
+        });
+        long[] dayNanos = time(() -> {
+            LocalDateTime from = first.plusDays(random.nextInt(days - 30));
+            rollups.getSeries(ActivityRollups.Resolution.DAY, from, from.plusDays(30));
+        });
+        long[] widestNanos = time(() -> {
+            LocalDateTime from = first.plusHours(random.nextInt(days * 24 - ActivityRollups.MAX_BUCKETS));
+            rollups.getSeries(ActivityRollups.Resolution.HOUR, from, from.plusHours(ActivityRollups.MAX_BUCKETS));
+        });
+
+        System.out.printf("Activity reads over %d days of rollups: 24 hours p50 %.2f ms, p95 %.2f ms; " +
+                        "30 days p50 %.2f ms, p95 %.2f ms; %d hours p50 %.2f ms, p95 %.2f ms%n", days,
+                percentileMillis(hourNanos, 50), percentileMillis(hourNanos, 95),
+                percentileMillis(dayNanos, 50), percentileMillis(dayNanos, 95), ActivityRollups.MAX_BUCKETS,
+                percentileMillis(widestNanos, 50), percentileMillis(widestNanos, 95));
+        assertThat(percentileMillis(hourNanos, 95)).isLessThan(10.0);
+        assertThat(percentileMillis(dayNanos, 95)).isLessThan(10.0);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO activity_rollups (resolution, bucket_start, posts, comments, likes, "
+                + "registrations, reports) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static Object[] row(String resolution, LocalDateTime bucket, long posts) {
+        return new Object[]{resolution, Timestamp.valueOf(bucket), posts, 1, 2, 0, 0};
+    }
+
+    private static long[] time(Runnable read) {
+        // Untimed reads to warm up
+        for (int i = 0; i < READS; i++) {
+            read.run();
+        }
+        long[] nanos = new long[READS];
+        for (int i = 0; i < READS; i++) {
+            long start = System.nanoTime();
+            read.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static double percentileMillis(long[] sortedNanos, int percentile) {
+        int index = Math.min(sortedNanos.length - 1, sortedNanos.length * percentile / 100);
+        return sortedNanos[index] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,180 @@
+package com.webblog.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditJournalTest {
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    private AuditJournal journal;
+
+    @AfterEach
+    void close() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void readsBackAppendedEntries() throws IOException {
+        journal = open(1 << 20);
+        journal.append(List.of(
+                new AuditJournal.Entry(T0, 1L, "DELETE_POST", "POST", 10L),
+                new AuditJournal.Entry(T0.plusSeconds(1), null, "SET_REPORT_STATUS_RESOLVED", "REPORT", null),
+                new AuditJournal.Entry(T0.plusSeconds(2), 1L, "BLOCK_USER", "USER", 20L)));
+
+        List<AuditJournal.Entry> byActor = journal.findByActorId(1L);
+        assertThat(byActor).extracting(AuditJournal.Entry::getAction).containsExactly("BLOCK_USER", "DELETE_POST");
+        AuditJournal.Entry entry = byActor.get(1);
+        assertThat(entry.getTimestamp()).isEqualTo(T0);
+        assertThat(entry.getEntityType()).isEqualTo("POST");
+        assertThat(entry.getEntityId()).isEqualTo(10L);
+
+        AuditJournal.Entry nullIds = journal.findByEntity("REPORT", null).get(0);
+        assertThat(nullIds.getActorId()).isNull();
+        assertThat(nullIds.getEntityId()).isNull();
+
+        journal.close();
+        journal = open(1 << 20);
+        assertThat(journal.findByActorId(1L)).hasSize(2);
+        assertThat(journal.findByEntity("USER", 20L)).extracting(AuditJournal.Entry::getAction).containsExactly("BLOCK_USER");
+    }
+
+    @Test
+    void recoversUpToTheLastCompleteRecordAfterATornWrite() throws IOException {
+        journal = open(1 << 20);
+        AuditJournal.Entry entry = new AuditJournal.Entry(T0, 1L, "DELETE_POST", "POST", 10L);
+        journal.append(List.of(entry, entry));
+        journal.close();
+
+        // A record whose body reached the file but whose length never did
+        int end = 2 * recordBytes("DELETE_POST", "POST");
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(end + 4);
+            file.write("torn record bytes".getBytes(StandardCharsets.UTF_8));
+        }
+
+        journal = open(1 << 20);
+        assertThat(journal.findByEntity("POST", 10L)).hasSize(2);
+
+        journal.append(List.of(new AuditJournal.Entry(T0.plusSeconds(1), 2L, "DELETE_COMMENT", "COMMENT", 30L)));
+        journal.close();
+        journal = open(1 << 20);
+        assertThat(journal.findByEntity("POST", 10L)).hasSize(2);
+        assertThat(journal.findByActorId(2L)).extracting(AuditJournal.Entry::getAction).containsExactly("DELETE_COMMENT");
+    }
+
+    @Test
+    void rollsToANewSegmentWhenFull() throws IOException {
+        int segmentSize = 3 * recordBytes("DELETE_POST", "POST") + 4;
+        journal = open(segmentSize);
+        for (int i = 0; i < 7; i++) {
+            journal.append(List.of(new AuditJournal.Entry(T0.plusSeconds(i), 1L, "DELETE_POST", "POST", (long) i)));
+        }
+
+        assertThat(segmentFiles()).hasSize(3);
+        assertThat(journal.findByActorId(1L)).extracting(AuditJournal.Entry::getEntityId)
+                .containsExactly(6L, 5L, 4L, 3L, 2L, 1L, 0L);
+
+        journal.close();
+        journal = open(segmentSize);
+        assertThat(journal.findByActorId(1L)).hasSize(7);
+    }
+
+    @Test
+    void deletesSegmentsPastRetention() throws IOException {
+        journal = open(1 << 20);
+        ReflectionTestUtils.setField(journal, "retentionMillis", ChronoUnit.DAYS.getDuration().toMillis());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        journal.append(List.of(new AuditJournal.Entry(now.minusDays(10), 1L, "DELETE_POST", "POST", 1L)));
+        journal.append(List.of(new AuditJournal.Entry(now.minusDays(5), 1L, "DELETE_POST", "POST", 2L)));
+        journal.append(List.of(new AuditJournal.Entry(now, 1L, "DELETE_POST", "POST", 3L)));
+        assertThat(segmentFiles()).hasSize(3);
+
+        journal.deleteExpiredSegments();
+
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(journal.findByActorId(1L)).extracting(AuditJournal.Entry::getEntityId).containsExactly(3L);
+    }
+
+    @Test
+    void rollsBackABatchThatFailsPartway() throws IOException {
+        int segmentSize = 2 * recordBytes("DELETE_POST", "POST") + 4;
+        journal = open(segmentSize);
+        journal.append(List.of(new AuditJournal.Entry(T0, 1L, "DELETE_POST", "POST", 1L)));
+
+        // The second and third entries roll to a new segment before the fourth fails
+        List<AuditJournal.Entry> batch = List.of(
+                new AuditJournal.Entry(T0.plusSeconds(1), 1L, "DELETE_POST", "POST", 2L),
+                new AuditJournal.Entry(T0.plusSeconds(2), 1L, "DELETE_POST", "POST", 3L),
+                new AuditJournal.Entry(T0.plusSeconds(3), 1L, "DELETE_POST", "POST", 4L),
+                new AuditJournal.Entry(T0.plusSeconds(4), 1L, "x".repeat(Short.MAX_VALUE + 1), "POST", 5L));
+        assertThatThrownBy(() -> journal.append(batch)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(journal.findByActorId(1L)).extracting(AuditJournal.Entry::getEntityId).containsExactly(1L);
+
+        journal.append(batch.subList(0, 3));
+        journal.close();
+        journal = open(segmentSize);
+        assertThat(journal.findByActorId(1L)).extracting(AuditJournal.Entry::getEntityId)
+                .containsExactly(4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void clearsADeletedActorDurably() throws IOException {
+        journal = open(1 << 20);
+        journal.append(List.of(
+                new AuditJournal.Entry(T0, 1L, "DELETE_POST", "POST", 10L),
+                new AuditJournal.Entry(T0.plusSeconds(1), 2L, "DELETE_POST", "POST", 10L)));
+
+        journal.clearActor(1L);
+
+        assertThat(journal.findByActorId(1L)).isEmpty();
+        assertThat(journal.findByEntity("POST", 10L)).extracting(AuditJournal.Entry::getActorId).containsExactly(2L, null);
+
+        journal.close();
+        journal = open(1 << 20);
+        assertThat(journal.findByActorId(1L)).isEmpty();
+        assertThat(journal.findByEntity("POST", 10L)).extracting(AuditJournal.Entry::getActorId).containsExactly(2L, null);
+    }
+
+    private AuditJournal open(int segmentSizeBytes) throws IOException {
+        AuditJournal opened = new AuditJournal();
+        ReflectionTestUtils.setField(opened, "directory", directory.toString());
+        ReflectionTestUtils.setField(opened, "segmentSizeBytes", segmentSizeBytes);
+        ReflectionTestUtils.setField(opened, "segmentDurationMillis", ChronoUnit.DAYS.getDuration().toMillis());
+        ReflectionTestUtils.setField(opened, "retentionMillis", 90 * ChronoUnit.DAYS.getDuration().toMillis());
+        opened.open();
+        return opened;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    // Length prefix, timestamp, actor and entity ids, then the two length-prefixed strings
+    private static int recordBytes(String action, String entityType) {
+        return 4 + 8 + 8 + 8 + 2 + action.length() + 2 + entityType.length();
+    }
+}
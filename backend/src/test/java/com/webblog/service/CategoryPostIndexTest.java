@@ -0,0 +1,43 @@
+package com.webblog.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CategoryPostIndexTest {
+    private final CategoryPostIndex index = new CategoryPostIndex();
+
+    @Test
+    void keepsWritesMadeWhileRebuilding() {
+        index.addPost(1L, List.of(10L));
+        index.addPost(2L, List.of(10L));
+
+        index.rebuild(sink -> {
+            // As if post 3 was created and post 1 deleted after the rebuild read its rows
+            sink.accept(1L, 10L);
+            sink.accept(2L, 10L);
+            index.addPost(3L, List.of(10L, 20L));
+            index.removePost(1L);
+            // Readers still see the old bitmaps, with the writes applied
+            assertThat(index.countsByCategory()).isEqualTo(Map.of(10L, 2L, 20L, 1L));
+        });
+
+        assertThat(index.countsByCategory()).isEqualTo(Map.of(10L, 2L, 20L, 1L));
+        assertThat(index.findMatches(List.of(10L), true).stream().boxed().toList()).containsExactly(2, 3);
+    }
+
+    @Test
+    void rejectsPostIdsBeyondTheBitmapRange() {
+        long tooLarge = Integer.MAX_VALUE + 1L;
+
+        assertThatThrownBy(() -> index.rebuild(sink -> sink.accept(tooLarge, 10L)))
+                .isInstanceOf(IllegalStateException.class);
+        // A failed rebuild leaves later writes unaffected
+        index.addPost(1L, List.of(10L));
+        assertThat(index.countsByCategory()).isEqualTo(Map.of(10L, 1L));
+    }
+}
@@ -0,0 +1,129 @@
+package com.webblog.service;
+
+import com.webblog.entity.Comment;
+import com.webblog.entity.CommentReply;
+import com.webblog.entity.IdGenerators;
+import com.webblog.entity.Post;
+import com.webblog.entity.Report;
+import com.webblog.entity.User;
+import com.webblog.repository.CommentReplyRepository;
+import com.webblog.repository.CommentRepository;
+import com.webblog.repository.PostRepository;
+import com.webblog.repository.ReportRepository;
+import com.webblog.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rows written with explicit ids, e.g. while the tables used AUTO_INCREMENT, sit right where the id
+ * generators would hand out their next blocks; once seeded, new entities must not collide with them.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class IdGeneratorSeederTest {
+    // Enough to use up the optimizer's current block and fetch more from the table
+    private static final int ENTITIES = IdGenerators.ALLOCATION_SIZE * 2 + 1;
+    private static final int EXPLICIT_ROWS = IdGenerators.ALLOCATION_SIZE * 3;
+
+    // These write with MySQL upsert syntax that H2 does not parse
+    @MockBean
+    private StatsCounters statsCounters;
+
+    @MockBean
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private IdGeneratorSeeder idGeneratorSeeder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentReplyRepository commentReplyRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void entitiesSavedAfterSeedingSkipPastExplicitIds() {
+        User author = userRepository.save(new User("Seeded Author", "seeded@example.com", "password"));
+        Post post = postRepository.save(new Post("Anchor", "Content", author));
+        Comment comment = commentRepository.save(new Comment("Anchor", author, post));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        long firstPostId = nextGeneratorValue("posts");
+        insertRows(firstPostId, id -> new Object[]{id, "Imported", "Content", author.getId(), now},
+                "INSERT INTO posts (id, title, content, author_id, created_at) VALUES (?, ?, ?, ?, ?)");
+        long firstCommentId = nextGeneratorValue("comments");
+        insertRows(firstCommentId, id -> new Object[]{id, "Imported", author.getId(), post.getId(), now},
+                "INSERT INTO comments (id, content, author_id, post_id, created_at) VALUES (?, ?, ?, ?, ?)");
+        long firstReplyId = nextGeneratorValue("comment_replies");
+        insertRows(firstReplyId, id -> new Object[]{id, comment.getId(), author.getId(), "Imported", now},
+                "INSERT INTO comment_replies (id, parent_comment_id, user_id, content, created_at) VALUES (?, ?, ?, ?, ?)");
+        long firstReportId = nextGeneratorValue("reports");
+        insertRows(firstReportId, id -> new Object[]{id, author.getId(), post.getId(), "Imported", "PENDING", now},
+                "INSERT INTO reports (id, reporter_id, post_id, reason, status, created_at) VALUES (?, ?, ?, ?, ?, ?)");
+
+        // As at the next start, now that the explicit rows exist
+        idGeneratorSeeder.seed();
+
+        List<Long> postIds = new ArrayList<>();
+        List<Long> commentIds = new ArrayList<>();
+        List<Long> replyIds = new ArrayList<>();
+        List<Long> reportIds = new ArrayList<>();
+        for (int i = 0; i < ENTITIES; i++) {
+            Post saved = postRepository.save(new Post("Generated " + i, "Content", author));
+            Comment savedComment = commentRepository.save(new Comment("Generated " + i, author, saved));
+            postIds.add(saved.getId());
+            commentIds.add(savedComment.getId());
+            replyIds.add(commentReplyRepository.save(new CommentReply(savedComment, author, "Generated " + i)).getId());
+            reportIds.add(reportRepository.save(new Report(author, saved, null, "Generated " + i)).getId());
+        }
+
+        assertThat(postIds).doesNotHaveDuplicates().noneMatch(id -> isExplicit(id, firstPostId));
+        assertThat(commentIds).doesNotHaveDuplicates().noneMatch(id -> isExplicit(id, firstCommentId));
+        assertThat(replyIds).doesNotHaveDuplicates().noneMatch(id -> isExplicit(id, firstReplyId));
+        assertThat(reportIds).doesNotHaveDuplicates().noneMatch(id -> isExplicit(id, firstReportId));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE title = 'Imported'", Long.class))
+                .isEqualTo(EXPLICIT_ROWS);
+    }
+
+    // Where the generator hands out its next block from
+    private long nextGeneratorValue(String name) {
+        return jdbcTemplate.queryForObject("SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE
+                + " WHERE " + IdGenerators.NAME_COLUMN + " = ?", Long.class, name);
+    }
+
+    private void insertRows(long firstId, LongFunction<Object[]> row, String sql) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = firstId; id < firstId + EXPLICIT_ROWS; id++) {
+            rows.add(row.apply(id));
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+
+    private static boolean isExplicit(Long id, long firstId) {
+        return id >= firstId && id < firstId + EXPLICIT_ROWS;
+    }
+}
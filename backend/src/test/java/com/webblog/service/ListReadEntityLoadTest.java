@@ -0,0 +1,126 @@
+package com.webblog.service;
+
+import com.webblog.dto.CommentDto;
+import com.webblog.dto.CommentPageDto;
+import com.webblog.dto.ReportDto;
+import com.webblog.dto.SavedPostDto;
+import com.webblog.entity.Comment;
+import com.webblog.entity.CommentReply;
+import com.webblog.entity.Post;
+import com.webblog.entity.Report;
+import com.webblog.entity.SavedPost;
+import com.webblog.entity.User;
+import com.webblog.repository.CommentReplyRepository;
+import com.webblog.repository.CommentRepository;
+import com.webblog.repository.PostRepository;
+import com.webblog.repository.ReportRepository;
+import com.webblog.repository.SavedPostRepository;
+import com.webblog.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The report, comment and saved-post lists are projected straight into DTOs: no entity is loaded.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class ListReadEntityLoadTest {
+    private static final int ITEMS = 5;
+
+    // These write with MySQL upsert syntax that H2 does not parse
+    @MockBean
+    private StatsCounters statsCounters;
+
+    @MockBean
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private SavedPostService savedPostService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentReplyRepository commentReplyRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private SavedPostRepository savedPostRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User reader;
+    private Post discussed;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User author = userRepository.save(new User("List Author", "list-author-" + System.nanoTime() + "@example.com", "password"));
+        reader = userRepository.save(new User("List Reader", "list-reader-" + System.nanoTime() + "@example.com", "password"));
+        discussed = postRepository.save(new Post("Discussed", "Content", author));
+        for (int i = 0; i < ITEMS; i++) {
+            Post post = i == 0 ? discussed : postRepository.save(new Post("Post " + i, "Content " + i, author));
+            Comment comment = commentRepository.save(new Comment("Comment " + i, reader, discussed));
+            commentReplyRepository.save(new CommentReply(comment, author, "Reply " + i));
+            savedPostRepository.save(new SavedPost(reader, post));
+            reportRepository.save(new Report(reader, post, i % 2 == 0 ? comment : null, "Reason " + i));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void reportListLoadsNoEntities() {
+        List<ReportDto> reports = reportService.getAllReports();
+
+        assertThat(reports).filteredOn(report -> report.getReporterId().equals(reader.getId())).hasSize(ITEMS);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void commentListsLoadNoEntities() {
+        List<CommentDto> comments = commentService.getCommentsByPostId(discussed.getId());
+        CommentPageDto tree = commentService.getCommentTree(discussed.getId(), null, ITEMS * 2);
+
+        assertThat(comments).hasSize(ITEMS);
+        assertThat(tree.getComments()).hasSize(ITEMS);
+        assertThat(tree.getComments()).allSatisfy(comment -> assertThat(comment.getReplies()).hasSize(1));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void savedPostListLoadsNoEntities() {
+        List<SavedPostDto> saved = savedPostService.getSavedPostsByUser(reader.getId());
+
+        assertThat(saved).hasSize(ITEMS);
+        assertThat(saved).allSatisfy(savedPost -> assertThat(savedPost.getPost().getAuthor().getName()).isEqualTo("List Author"));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,197 @@
+package com.webblog.service;
+
+import com.webblog.dto.CacheStatsDto;
+import com.webblog.dto.PostDto;
+import com.webblog.dto.ResourceVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostDetailCacheTest {
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesHitsWithoutLoading() {
+        PostDetailCache cache = cache(10, 60_000);
+
+        PostDetailCache.CachedPost first = cache.get(1L, loader(1L));
+        PostDetailCache.CachedPost second = cache.get(1L, loader(1L));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        CacheStatsDto stats = cache.getStats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void reloadsExpiredEntries() {
+        PostDetailCache cache = cache(10, -1);
+
+        cache.get(1L, loader(1L));
+        cache.get(1L, loader(1L));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void rejectsOneOffReadsWhenFull() {
+        PostDetailCache cache = cache(2, 60_000);
+        cache.get(1L, loader(1L));
+        cache.get(1L, loader(1L));
+        cache.get(2L, loader(2L));
+        cache.get(2L, loader(2L));
+
+        cache.get(3L, loader(3L));
+
+        CacheStatsDto stats = cache.getStats();
+        assertThat(stats.getRejections()).isEqualTo(1);
+        assertThat(stats.getEvictions()).isZero();
+        assertThat(stats.getSize()).isEqualTo(2);
+        loads.set(0);
+        cache.get(1L, loader(1L));
+        cache.get(2L, loader(2L));
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedForMoreFrequentPost() {
+        PostDetailCache cache = cache(2, 60_000);
+        cache.get(1L, loader(1L));
+        cache.get(2L, loader(2L));
+        // Post 1 is the LRU victim once post 2 has been read after it
+        cache.get(2L, loader(2L));
+
+        cache.get(3L, loader(3L));
+        cache.get(3L, loader(3L));
+
+        CacheStatsDto stats = cache.getStats();
+        assertThat(stats.getRejections()).isEqualTo(1);
+        assertThat(stats.getEvictions()).isEqualTo(1);
+        loads.set(0);
+        cache.get(3L, loader(3L));
+        cache.get(2L, loader(2L));
+        assertThat(loads).hasValue(0);
+        cache.get(1L, loader(1L));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        PostDetailCache cache = cache(10, 60_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<PostDetailCache.CachedPost> slowLoader = () -> {
+            started.countDown();
+            await(release);
+            return loader(1L).get();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<PostDetailCache.CachedPost> first = executor.submit(() -> cache.get(1L, slowLoader));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<PostDetailCache.CachedPost> second = executor.submit(() -> cache.get(1L, slowLoader));
+            waitFor(() -> cache.getStats().getCoalescedLoads() == 1);
+            release.countDown();
+
+            assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void doesNotCacheValueLoadedAcrossAnInvalidation() throws Exception {
+        PostDetailCache cache = cache(10, 60_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<PostDetailCache.CachedPost> stale = executor.submit(() -> cache.get(1L, () -> {
+                started.countDown();
+                await(release);
+                return loader(1L).get();
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            cache.invalidate(1L);
+            release.countDown();
+            stale.get(5, TimeUnit.SECONDS);
+
+            cache.get(1L, loader(1L));
+            assertThat(loads).hasValue(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        PostDetailCache cache = cache(10, 60_000);
+
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new RuntimeException("Post not found");
+        })).hasMessage("Post not found");
+        cache.get(1L, loader(1L));
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidateIfDropsMatchingPosts() {
+        PostDetailCache cache = cache(10, 60_000);
+        cache.get(1L, loader(1L));
+        cache.get(2L, loader(2L));
+
+        cache.invalidateIf(post -> post.getId() == 1L);
+        cache.get(1L, loader(1L));
+        cache.get(2L, loader(2L));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    private PostDetailCache cache(int maxSize, long ttlMillis) {
+        PostDetailCache cache = new PostDetailCache();
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ttlMillis", ttlMillis);
+        cache.init();
+        return cache;
+    }
+
+    private Supplier<PostDetailCache.CachedPost> loader(Long postId) {
+        return () -> {
+            loads.incrementAndGet();
+            PostDto post = new PostDto();
+            post.setId(postId);
+            return new PostDetailCache.CachedPost(post, new ResourceVersion("post-" + postId, -1));
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.get()).isTrue();
+    }
+}
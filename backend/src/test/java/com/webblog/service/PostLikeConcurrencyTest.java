@@ -0,0 +1,149 @@
+package com.webblog.service;
+
+import com.webblog.entity.User;
+import com.webblog.repository.UserRepository;
+import com.webblog.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many users liking and unliking (and saving and unsaving) one post at once, each user from two threads,
+ * must leave exactly one row per user whose last request was a like, and a like_count that matches.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class PostLikeConcurrencyTest {
+    private static final int USERS = 12;
+    private static final int THREADS_PER_USER = 2;
+    private static final int REQUESTS_PER_THREAD = 40;
+
+    // These write with MySQL upsert syntax that H2 does not parse
+    @MockBean
+    private StatsCounters statsCounters;
+
+    @MockBean
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private PostLikeService postLikeService;
+
+    @Autowired
+    private SavedPostService savedPostService;
+
+    @Autowired
+    private PostLikeCounter postLikeCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentLikesAndUnlikesLeaveAnExactCount() throws Exception {
+        Long postId = createPost(3_000_000L, "likes");
+        List<User> users = createUsers("likes");
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+
+        hammer(users, postLikeService::like, postLikeService::unlike, postId);
+        postLikeCounter.flush();
+
+        long expected = USERS / 2;
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post_likes WHERE post_id = ?", Long.class, postId))
+                .isEqualTo(expected);
+        assertThat(jdbcTemplate.queryForObject("SELECT like_count FROM posts WHERE id = ?", Long.class, postId))
+                .isEqualTo(expected);
+        assertThat(postLikeService.getLikeCount(postId)).isEqualTo(expected);
+        assertThat(jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM post_likes WHERE post_id = ?",
+                Timestamp.class, postId).toLocalDateTime()).isAfter(start);
+    }
+
+    @Test
+    void concurrentSavesAndUnsavesLeaveOneRowPerSaver() throws Exception {
+        Long postId = createPost(3_000_001L, "saves");
+        List<User> users = createUsers("saves");
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+
+        hammer(users, savedPostService::save, savedPostService::unsave, postId);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM saved_posts WHERE post_id = ?", Long.class, postId))
+                .isEqualTo(USERS / 2);
+        assertThat(jdbcTemplate.queryForObject("SELECT MIN(saved_at) FROM saved_posts WHERE post_id = ?",
+                Timestamp.class, postId).toLocalDateTime()).isAfter(start);
+    }
+
+    // Random adds and removes; both threads of an even user end with an add, of an odd user with a remove
+    private void hammer(List<User> users, Consumer<Long> add, Consumer<Long> remove, Long postId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(USERS * THREADS_PER_USER);
+        CountDownLatch ready = new CountDownLatch(USERS * THREADS_PER_USER);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int u = 0; u < USERS; u++) {
+                User user = users.get(u);
+                boolean endsAdded = u % 2 == 0;
+                for (int t = 0; t < THREADS_PER_USER; t++) {
+                    Callable<Void> requests = () -> {
+                        SecurityContextHolder.getContext().setAuthentication(authenticationOf(user));
+                        try {
+                            ready.countDown();
+                            ready.await();
+                            for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                                (ThreadLocalRandom.current().nextBoolean() ? add : remove).accept(postId);
+                            }
+                            (endsAdded ? add : remove).accept(postId);
+                        } finally {
+                            SecurityContextHolder.clearContext();
+                        }
+                        return null;
+                    };
+                    results.add(executor.submit(requests));
+                }
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long createPost(Long postId, String name) {
+        User author = userRepository.save(new User("Author", name + "-author@example.com", "password"));
+        jdbcTemplate.update("INSERT INTO posts (id, title, content, author_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                postId, "Contended post", "Content", author.getId(), Timestamp.valueOf(LocalDateTime.now()));
+        return postId;
+    }
+
+    private List<User> createUsers(String name) {
+        List<User> users = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            users.add(userRepository.save(new User("User " + u, name + "-" + u + "@example.com", "password")));
+        }
+        return users;
+    }
+
+    private static UsernamePasswordAuthenticationToken authenticationOf(User user) {
+        AuthenticatedUser principal = new AuthenticatedUser(user);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
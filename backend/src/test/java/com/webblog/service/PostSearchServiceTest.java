@@ -0,0 +1,152 @@
+package com.webblog.service;
+
+import com.webblog.dto.PostSearchHitDto;
+import com.webblog.dto.PostSearchResultDto;
+import com.webblog.entity.User;
+import com.webblog.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search paging, and the index against a LIKE scan. The 1M-post benchmark runs with -Dwebblog.benchmark=true.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class PostSearchServiceTest {
+    private static final int INSERT_BATCH = 5_000;
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS_PER_POST = 40;
+    private static final int QUERIES = 50;
+
+    // These write with MySQL upsert syntax that H2 does not parse
+    @MockBean
+    private StatsCounters statsCounters;
+
+    @MockBean
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesPastTheLastHitWithoutOverflowing() {
+        Long authorId = createUser("searcher@example.com");
+        insertPost(4_000_000L, authorId, "Quokka sightings", "A quokka on the trail");
+        insertPost(4_000_001L, authorId, "Trail notes", "Quokka again, near the quokka burrow");
+        postSearchService.rebuildIndex();
+
+        PostSearchResultDto first = postSearchService.search("quokka", 0, 10);
+        assertThat(first.getTotal()).isEqualTo(2);
+        assertThat(first.getHits()).extracting(PostSearchHitDto::getId).containsExactlyInAnyOrder(4_000_000L, 4_000_001L);
+
+        PostSearchResultDto far = postSearchService.search("quokka", Integer.MAX_VALUE, PostSearchService.MAX_PAGE_SIZE);
+        assertThat(far.getTotal()).isEqualTo(2);
+        assertThat(far.getHits()).isEmpty();
+        assertThat((long) far.getPage() * far.getSize()).isLessThanOrEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "webblog.benchmark", matches = "true")
+    void comparesIndexQueriesWithALikeScanAtAMillionPosts() {
+        int posts = Integer.getInteger("webblog.benchmark.posts", 1_000_000);
+        Long authorId = createUser("search-benchmark@example.com");
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < posts; i++) {
+            rows.add(new Object[]{5_000_000L + i, text(random, 6), text(random, WORDS_PER_POST), authorId, now});
+            if (rows.size() == INSERT_BATCH || i == posts - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO posts (id, title, content, author_id, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+
+        long rebuildStart = System.nanoTime();
+        postSearchService.rebuildIndex();
+        long rebuildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - rebuildStart);
+
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add(word(random) + " " + word(random));
+        }
+        long[] indexNanos = time(queries, query -> () -> postSearchService.search(query, 0, 20));
+        long[] likeNanos = time(queries, query -> () -> {
+            String[] terms = query.split(" ");
+            return jdbcTemplate.queryForList(
+                    "SELECT id FROM posts WHERE title LIKE ? OR content LIKE ? OR title LIKE ? OR content LIKE ? " +
+                    "ORDER BY created_at DESC, id DESC LIMIT 20", Long.class,
+                    "%" + terms[0] + "%", "%" + terms[0] + "%", "%" + terms[1] + "%", "%" + terms[1] + "%");
+        });
+
+        System.out.printf("Search over %d posts (index rebuilt in %d ms): index p50 %.2f ms, p95 %.2f ms; " +
+                        "LIKE scan p50 %.2f ms, p95 %.2f ms%n", posts, rebuildMillis,
+                percentileMillis(indexNanos, 50), percentileMillis(indexNanos, 95),
+                percentileMillis(likeNanos, 50), percentileMillis(likeNanos, 95));
+        assertThat(percentileMillis(indexNanos, 50)).isLessThan(percentileMillis(likeNanos, 50));
+    }
+
+    private Long createUser(String email) {
+        return userRepository.save(new User("Search Author", email, "password")).getId();
+    }
+
+    private void insertPost(Long id, Long authorId, String title, String content) {
+        jdbcTemplate.update("INSERT INTO posts (id, title, content, author_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                id, title, content, authorId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private static long[] time(List<String> queries, Function<String, Supplier<?>> run) {
+        // One untimed pass to warm up
+        queries.forEach(query -> run.apply(query).get());
+        long[] nanos = new long[queries.size()];
+        for (int i = 0; i < queries.size(); i++) {
+            long start = System.nanoTime();
+            run.apply(queries.get(i)).get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static double percentileMillis(long[] sortedNanos, int percentile) {
+        int index = Math.min(sortedNanos.length - 1, sortedNanos.length * percentile / 100);
+        return sortedNanos[index] / 1_000_000.0;
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(i == 0 ? "" : " ").append(word(random));
+        }
+        return text.toString();
+    }
+
+    // Skewed towards low numbers, so some terms are common and most are rare
+    private static String word(Random random) {
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return "w" + (int) (skewed * VOCABULARY);
+    }
+}
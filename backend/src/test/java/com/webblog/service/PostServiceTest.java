@@ -0,0 +1,68 @@
+package com.webblog.service;
+
+import com.webblog.dto.PostSummaryDto;
+import com.webblog.entity.User;
+import com.webblog.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class PostServiceTest {
+    private static final long FIRST_POST_ID = 7_000_000L;
+
+    // These write with MySQL upsert syntax that H2 does not parse
+    @MockBean
+    private StatsCounters statsCounters;
+
+    @MockBean
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void visitsEveryPostNewestFirstOneFeedPageAtATime() {
+        int posts = PostService.MAX_FEED_PAGE_SIZE * 2 + 50;
+        Long authorId = userRepository.save(new User("Legacy Author", "legacy@example.com", "password")).getId();
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < posts; i++) {
+            rows.add(new Object[]{FIRST_POST_ID + i, "Post " + i, "Content", authorId, Timestamp.valueOf(start.plusSeconds(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO posts (id, title, content, author_id, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+
+        List<Integer> pageSizes = new ArrayList<>();
+        List<Long> visited = new ArrayList<>();
+        postService.forEachPostPage(page -> {
+            pageSizes.add(page.size());
+            page.stream().map(PostSummaryDto::getId).forEach(visited::add);
+        });
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = posts - 1; i >= 0; i--) {
+            expected.add(FIRST_POST_ID + i);
+        }
+        assertThat(visited).doesNotHaveDuplicates();
+        assertThat(visited.stream().filter(id -> id >= FIRST_POST_ID && id < FIRST_POST_ID + posts))
+                .containsExactlyElementsOf(expected);
+        assertThat(pageSizes).allMatch(size -> size <= PostService.MAX_FEED_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,81 @@
+package com.webblog.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatsCountersTest {
+    private static final String COUNT_POSTS_SQL = "SELECT COUNT(*) FROM posts";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StatsCounters counters = new StatsCounters();
+
+    StatsCountersTest() {
+        ReflectionTestUtils.setField(counters, "jdbcTemplate", jdbcTemplate);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void correctsDrift() {
+        counters.recordAfterCommit(StatsCounters.Counter.POSTS, 3);
+        countPosts(5L);
+
+        counters.reconcile();
+
+        assertThat(counters.get(StatsCounters.Counter.POSTS)).isEqualTo(5);
+    }
+
+    @Test
+    void leavesACounterWithACommittingWriteForTheNextRun() {
+        TransactionSynchronizationManager.initSynchronization();
+        counters.recordAfterCommit(StatsCounters.Counter.POSTS, 1);
+        List<TransactionSynchronization> transaction = TransactionSynchronizationManager.getSynchronizations();
+        transaction.forEach(synchronization -> synchronization.beforeCommit(false));
+        // The row is committed and counted, but the delta is not applied yet
+        countPosts(1L);
+
+        counters.reconcile();
+        transaction.forEach(TransactionSynchronization::afterCommit);
+        transaction.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(counters.get(StatsCounters.Counter.POSTS)).isEqualTo(1);
+        counters.reconcile();
+        assertThat(counters.get(StatsCounters.Counter.POSTS)).isEqualTo(1);
+    }
+
+    @Test
+    void leavesACounterThatMovedWhileCountingForTheNextRun() {
+        // A create and a delete applied during the count cancel out, but the count may include only one
+        when(jdbcTemplate.queryForObject(COUNT_POSTS_SQL, Long.class)).thenAnswer(invocation -> {
+            counters.recordAfterCommit(StatsCounters.Counter.POSTS, 1);
+            counters.recordAfterCommit(StatsCounters.Counter.POSTS, -1);
+            return 1L;
+        });
+
+        counters.reconcile();
+
+        assertThat(counters.get(StatsCounters.Counter.POSTS)).isZero();
+    }
+
+    private void countPosts(Long count) {
+        when(jdbcTemplate.queryForObject(COUNT_POSTS_SQL, Long.class)).thenReturn(count);
+    }
+}
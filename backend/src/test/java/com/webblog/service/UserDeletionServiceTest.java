@@ -0,0 +1,126 @@
+package com.webblog.service;
+
+import com.webblog.dto.UserDeletionStatusDto;
+import com.webblog.entity.User;
+import com.webblog.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Background deletion of large accounts. The 100k-post benchmark runs with -Dwebblog.benchmark=true.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class UserDeletionServiceTest {
+    private static final int INSERT_BATCH = 5_000;
+
+    // These write with MySQL upsert syntax that H2 does not parse
+    @MockBean
+    private StatsCounters statsCounters;
+
+    @MockBean
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void disablesTheAccountBeforeDeletingItInTheBackground() throws InterruptedException {
+        Long userId = createUser("large@example.com");
+        insertPosts(userId, 1_000_000L, 2_500);
+
+        // Hold the single deletion thread, so the job cannot start before the assertions below
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(userDeletionService, "executor");
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        UserDeletionStatusDto started = userDeletionService.deleteUser(userId);
+        assertThat(started.getState()).isEqualTo(UserDeletionService.RUNNING);
+        assertThat(jdbcTemplate.queryForObject("SELECT enabled FROM users WHERE id = ?", Boolean.class, userId)).isFalse();
+        assertThat(countPosts(userId)).isEqualTo(2_500);
+
+        release.countDown();
+        UserDeletionStatusDto finished = awaitCompletion(userId, 60);
+        assertThat(finished.getState()).isEqualTo(UserDeletionService.COMPLETED);
+        assertThat(finished.getDeletedPosts()).isEqualTo(2_500);
+        assertThat(countPosts(userId)).isZero();
+        assertThat(userRepository.existsById(userId)).isFalse();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "webblog.benchmark", matches = "true")
+    void deletesAHundredThousandPostAccount() throws InterruptedException {
+        int posts = Integer.getInteger("webblog.benchmark.posts", 100_000);
+        Long userId = createUser("prolific@example.com");
+        insertPosts(userId, 2_000_000L, posts);
+
+        long start = System.nanoTime();
+        userDeletionService.deleteUser(userId);
+        UserDeletionStatusDto finished = awaitCompletion(userId, 600);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(finished.getState()).isEqualTo(UserDeletionService.COMPLETED);
+        assertThat(countPosts(userId)).isZero();
+        System.out.printf("Deleted a %d-post account in %d ms (%.0f posts/s)%n",
+                posts, elapsedMillis, posts * 1000.0 / Math.max(elapsedMillis, 1));
+    }
+
+    private Long createUser(String email) {
+        return userRepository.save(new User("Prolific Author", email, "password")).getId();
+    }
+
+    private void insertPosts(Long userId, long firstId, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{firstId + i, "Post " + i, "Content of post " + i, userId, now});
+            if (rows.size() == INSERT_BATCH || i == count - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO posts (id, title, content, author_id, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private long countPosts(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE author_id = ?", Long.class, userId);
+    }
+
+    private UserDeletionStatusDto awaitCompletion(Long userId, int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        UserDeletionStatusDto status = userDeletionService.getStatus(userId);
+        while (UserDeletionService.RUNNING.equals(status.getState()) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            status = userDeletionService.getStatus(userId);
+        }
+        return status;
+    }
+}
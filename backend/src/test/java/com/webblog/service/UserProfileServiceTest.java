@@ -0,0 +1,75 @@
+package com.webblog.service;
+
+import com.webblog.dto.UserProfileDto;
+import com.webblog.entity.Comment;
+import com.webblog.entity.Post;
+import com.webblog.entity.User;
+import com.webblog.repository.CommentRepository;
+import com.webblog.repository.PostRepository;
+import com.webblog.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Other users' comments and likes on an author's posts show on the author's profile without waiting
+ * for the cached aggregate to expire.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class UserProfileServiceTest {
+    // These write with MySQL upsert syntax that H2 does not parse
+    @MockBean
+    private StatsCounters statsCounters;
+
+    @MockBean
+    private ActivityRollups activityRollups;
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void receivedTotalsAreCurrentWhileTheAggregateIsCached() {
+        User author = userRepository.save(new User("Profile Author", "profile-author@example.com", "password"));
+        User reader = userRepository.save(new User("Profile Reader", "profile-reader@example.com", "password"));
+        Post post = postRepository.save(new Post("Profiled", "Content", author));
+        commentRepository.save(new Comment("Own comment", author, post));
+        jdbcTemplate.update("UPDATE posts SET comment_count = 1 WHERE id = ?", post.getId());
+
+        UserProfileDto before = profile(author);
+        assertThat(before.getCommentsWritten()).isEqualTo(1);
+        assertThat(before.getCommentsReceived()).isEqualTo(1);
+        assertThat(before.getLikesReceived()).isZero();
+
+        // The reader's comment and a flushed like land on the author's post; neither touches the author's entry
+        commentRepository.save(new Comment("Reader comment", reader, post));
+        jdbcTemplate.update("UPDATE posts SET comment_count = 2, like_count = 1 WHERE id = ?", post.getId());
+
+        UserProfileDto after = profile(author);
+        assertThat(after.getPostCount()).isEqualTo(1);
+        assertThat(after.getCommentsWritten()).isEqualTo(1);
+        assertThat(after.getCommentsReceived()).isEqualTo(2);
+        assertThat(after.getLikesReceived()).isEqualTo(1);
+    }
+
+    private UserProfileDto profile(User user) {
+        return userProfileService.getProfile(user.getId(), null, UserProfileService.DEFAULT_POSTS_PAGE_SIZE);
+    }
+}
@@ -7,10 +7,9 @@ import CategoryBadge from './CategoryBadge';
 import { toast } from 'react-toastify';
 import './PostCard.css';
 
-const PostCard = ({ post, onDelete }) => {
+const PostCard = ({ post, onDelete, interaction }) => {
   const { user, isAdmin } = useContext(AuthContext);
   const { isPostFlagged } = useContext(UIStateContext);
-  const [isExpanded, setIsExpanded] = useState(false);
   const [likeCount, setLikeCount] = useState(0);
   const [isLiked, setIsLiked] = useState(false);
   const [isSaved, setIsSaved] = useState(false);
@@ -21,12 +20,22 @@ const PostCard = ({ post, onDelete }) => {
   const isFlagged = isPostFlagged(post.id);
 
   useEffect(() => {
+    // Pages that batch-load interactions pass them in (null while the batch is loading);
+    // otherwise fall back to per-post requests
+    if (interaction !== undefined) {
+      if (interaction) {
+        setLikeCount(interaction.likeCount || 0);
+        setIsLiked(interaction.liked || false);
+        setIsSaved(interaction.saved || false);
+      }
+      return;
+    }
     fetchLikeCount();
     if (user) {
       checkLikeStatus();
       checkSaveStatus();
     }
-  }, [post.id, user]);
+  }, [post.id, user, interaction]);
 
   const fetchLikeCount = async () => {
     try {
@@ -62,7 +71,9 @@ const PostCard = ({ post, onDelete }) => {
 
     try {
       setLoadingLike(true);
-      const response = await api.post(`/post-likes/${post.id}/toggle`);
+      const response = isLiked
+        ? await api.delete(`/post-likes/${post.id}`)
+        : await api.put(`/post-likes/${post.id}`);
       setIsLiked(response.data.liked);
       setLikeCount(response.data.likeCount);
     } catch (error) {
@@ -80,7 +91,9 @@ const PostCard = ({ post, onDelete }) => {
 
     try {
       setLoadingSave(true);
-      const response = await api.post(`/saved-posts/${post.id}/toggle`);
+      const response = isSaved
+        ? await api.delete(`/saved-posts/${post.id}`)
+        : await api.put(`/saved-posts/${post.id}`);
       setIsSaved(response.data.saved);
     } catch (error) {
       console.error('Error toggling save:', error);
@@ -101,18 +114,17 @@ const PostCard = ({ post, onDelete }) => {
     });
   };
 
-  const PREVIEW_LENGTH = 150;
-  const shouldShowReadMore = post.content && post.content.length > PREVIEW_LENGTH;
-  const displayContent = isExpanded || !shouldShowReadMore 
-    ? post.content 
-    : `${post.content.substring(0, PREVIEW_LENGTH)}...`;
+  // List endpoints send an excerpt; the full content is loaded on the post page
+  const shouldShowReadMore = (post.snippet ?? post.excerpt)?.endsWith('…');
 
   return (
     <div className={`post-card ${isFlagged ? 'post-flagged' : ''}`}>
       <Link to={`/post/${post.id}`} className="post-link">
         <div className="post-header">
           <div style={{ display: 'flex', alignItems: 'center', gap: '8px', flexWrap: 'wrap' }}>
-            <h2 className="post-title">{post.title}</h2>
+            {post.highlightedTitle
+              ? <h2 className="post-title" dangerouslySetInnerHTML={{ __html: post.highlightedTitle }} />
+              : <h2 className="post-title">{post.title}</h2>}
             {isFlagged && isAdmin() && (
               <span style={{
                 fontSize: '12px',
@@ -136,20 +148,18 @@ const PostCard = ({ post, onDelete }) => {
         </div>
         <p className="post-meta">
           By <span className="post-author">{post.author?.name || 'Unknown'}</span> • {formatDate(post.createdAt)}
+          {post.readingTimeMinutes && <> • {post.readingTimeMinutes} min read</>}
         </p>
-        <p className="post-content-preview">
-          {displayContent}
-        </p>
+        {/* Search hits carry a snippet the server has already escaped and marked up */}
+        {post.snippet !== undefined ? (
+          <p className="post-content-preview" dangerouslySetInnerHTML={{ __html: post.snippet }} />
+        ) : (
+          <p className="post-content-preview">
+            {post.excerpt}
+          </p>
+        )}
         {shouldShowReadMore && (
-          <button
-            className="read-more-btn"
-            onClick={(e) => {
-              e.preventDefault();
-              setIsExpanded(!isExpanded);
-            }}
-          >
-            {isExpanded ? 'Read Less' : 'Read More'}
-          </button>
+          <span className="read-more-btn">Read More</span>
         )}
       </Link>
       <div className="post-interactions">
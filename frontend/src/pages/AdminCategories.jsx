@@ -32,20 +32,9 @@ const AdminCategories = () => {
 
   const fetchCategoryUsage = async () => {
     try {
-      const postsResponse = await api.get('/posts');
-      const posts = postsResponse.data || [];
-      
-      // Count usage of each category
-      const usage = {};
-      posts.forEach(post => {
-        if (post.categories && post.categories.length > 0) {
-          post.categories.forEach(cat => {
-            usage[cat.id] = (usage[cat.id] || 0) + 1;
-          });
-        }
-      });
-      
-      setCategoryUsage(usage);
+      // Post counts per category id, computed on the server
+      const response = await api.get('/categories/counts');
+      setCategoryUsage(response.data || {});
     } catch (error) {
       console.error('Error fetching category usage:', error);
     }
@@ -13,10 +13,29 @@ const AdminDashboard = () => {
     loading: true
   });
 
+  const [activity, setActivity] = useState(null);
+
   useEffect(() => {
     fetchStats();
+    fetchActivity();
   }, []);
 
+  const fetchActivity = async () => {
+    try {
+      // Hourly buckets for the last 24 hours, summed
+      const response = await api.get('/admin/activity', { params: { resolution: 'HOUR' } });
+      const totals = { posts: 0, comments: 0, likes: 0, registrations: 0, reports: 0 };
+      response.data.buckets.forEach(bucket => {
+        Object.keys(totals).forEach(key => {
+          totals[key] += bucket[key];
+        });
+      });
+      setActivity(totals);
+    } catch (error) {
+      console.error('Error fetching activity:', error);
+    }
+  };
+
   const fetchStats = async () => {
     try {
       setStats(prev => ({ ...prev, loading: true }));
@@ -74,6 +93,33 @@ const AdminDashboard = () => {
         </div>
       </section>
 
+      {/* Recent Activity */}
+      <section className="admin-stats-section">
+        <h2 className="section-title">Last 24 Hours</h2>
+        <div className="admin-stats-grid">
+          <div className="admin-stat-card">
+            <div className="admin-stat-value">{activity ? activity.registrations : '-'}</div>
+            <div className="admin-stat-label">New Users</div>
+          </div>
+          <div className="admin-stat-card">
+            <div className="admin-stat-value">{activity ? activity.posts : '-'}</div>
+            <div className="admin-stat-label">Posts</div>
+          </div>
+          <div className="admin-stat-card">
+            <div className="admin-stat-value">{activity ? activity.comments : '-'}</div>
+            <div className="admin-stat-label">Comments</div>
+          </div>
+          <div className="admin-stat-card">
+            <div className="admin-stat-value">{activity ? activity.likes : '-'}</div>
+            <div className="admin-stat-label">Likes</div>
+          </div>
+          <div className="admin-stat-card">
+            <div className="admin-stat-value">{activity ? activity.reports : '-'}</div>
+            <div className="admin-stat-label">Reports</div>
+          </div>
+        </div>
+      </section>
+
       {/* Management Cards */}
       <section className="admin-management-section">
         <h2 className="section-title">Management</h2>
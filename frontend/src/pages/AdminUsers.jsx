@@ -54,9 +54,13 @@ const AdminUsers = () => {
     }
 
     try {
-      await api.delete(`/users/${userId}`);
+      const response = await api.delete(`/users/${userId}`);
       setUsers(users.filter(user => user.id !== userId));
-      toast.success('User deleted successfully');
+      if (response.status === 202) {
+        toast.success(`Deleting user and ${response.data.totalPosts} posts in the background`);
+      } else {
+        toast.success('User deleted successfully');
+      }
     } catch (error) {
       const errorMsg = error.response?.data?.error || 'Failed to delete user';
       toast.error(errorMsg);
@@ -14,10 +14,14 @@ const Home = () => {
   const [selectedCategory, setSelectedCategory] = useState(null);
   const [searchQuery, setSearchQuery] = useState('');
   const [sortBy, setSortBy] = useState('latest'); // latest, oldest, alphabetical
-  const [currentPage, setCurrentPage] = useState(1);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [searchResults, setSearchResults] = useState(null); // { query, hits, total, page }
+  const [searching, setSearching] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [deleteModal, setDeleteModal] = useState({ isOpen: false, postId: null });
+  const [interactions, setInteractions] = useState({});
   const { user, isAdmin } = useContext(AuthContext);
   const { isUserBlocked } = useContext(UIStateContext);
   const navigate = useNavigate();
@@ -27,16 +31,27 @@ const Home = () => {
   const POSTS_PER_PAGE = 9;
 
   useEffect(() => {
-    fetchPosts();
     fetchCategories();
   }, []);
 
+  // The feed is filtered by category on the server, so every page is a full page of that category
+  useEffect(() => {
+    fetchPosts();
+  }, [selectedCategory]);
+
+  const feedParams = (cursor) => ({
+    size: POSTS_PER_PAGE,
+    ...(cursor && { cursor }),
+    ...(selectedCategory && { categoryIds: selectedCategory })
+  });
+
   const fetchPosts = async () => {
     try {
       setLoading(true);
       setError('');
-      const response = await api.get('/posts');
-      setPosts(response.data || []);
+      const response = await api.get('/posts/feed', { params: feedParams(null) });
+      setPosts(response.data.posts || []);
+      setNextCursor(response.data.nextCursor);
     } catch (error) {
       console.error('Error fetching posts:', error);
       setError('Failed to load posts. Please try again.');
@@ -45,6 +60,68 @@ const Home = () => {
     }
   };
 
+  const loadMorePosts = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await api.get('/posts/feed', { params: feedParams(nextCursor) });
+      setPosts(prev => [...prev, ...(response.data.posts || [])]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error('Error fetching more posts:', error);
+      toast.error('Failed to load more posts');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  // Ranked full-text search on the server, once the user stops typing
+  const trimmedQuery = searchQuery.trim();
+  useEffect(() => {
+    if (!trimmedQuery) {
+      setSearchResults(null);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        setSearching(true);
+        const response = await api.get('/posts/search', {
+          params: { q: trimmedQuery, page: 0, size: POSTS_PER_PAGE }
+        });
+        if (!cancelled) {
+          setSearchResults({ query: trimmedQuery, hits: response.data.hits || [], total: response.data.total, page: 0 });
+        }
+      } catch (error) {
+        console.error('Error searching posts:', error);
+        if (!cancelled) toast.error('Search failed');
+      } finally {
+        if (!cancelled) setSearching(false);
+      }
+    }, 300);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [trimmedQuery]);
+
+  const loadMoreResults = async () => {
+    try {
+      setLoadingMore(true);
+      const page = searchResults.page + 1;
+      const response = await api.get('/posts/search', {
+        params: { q: searchResults.query, page, size: POSTS_PER_PAGE }
+      });
+      setSearchResults(prev => prev && prev.query === searchResults.query
+        ? { ...prev, hits: [...prev.hits, ...(response.data.hits || [])], total: response.data.total, page }
+        : prev);
+    } catch (error) {
+      console.error('Error fetching more results:', error);
+      toast.error('Failed to load more results');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const fetchCategories = async () => {
     try {
       const response = await api.get('/categories');
@@ -64,6 +141,11 @@ const Home = () => {
     try {
       await api.delete(`/posts/${deleteModal.postId}`);
       setPosts(posts.filter(post => post.id !== deleteModal.postId));
+      setSearchResults(prev => prev && {
+        ...prev,
+        hits: prev.hits.filter(hit => hit.id !== deleteModal.postId),
+        total: prev.total - 1
+      });
       setDeleteModal({ isOpen: false, postId: null });
       toast.success('Post deleted successfully');
     } catch (error) {
@@ -73,24 +155,8 @@ const Home = () => {
     }
   };
 
-  // Filter posts by category
-  const categoryFiltered = selectedCategory
-    ? posts.filter(post => post.categories?.some(cat => cat.id === selectedCategory))
-    : posts;
-
-  // Search filter
-  const searchFiltered = searchQuery.trim()
-    ? categoryFiltered.filter(post => {
-        const query = searchQuery.toLowerCase();
-        const titleMatch = post.title?.toLowerCase().includes(query);
-        const contentMatch = post.content?.toLowerCase().includes(query);
-        const authorMatch = post.author?.name?.toLowerCase().includes(query);
-        return titleMatch || contentMatch || authorMatch;
-      })
-    : categoryFiltered;
-
   // Sort posts
-  const sortedPosts = [...searchFiltered].sort((a, b) => {
+  const sortedPosts = [...posts].sort((a, b) => {
     switch (sortBy) {
       case 'latest':
         return new Date(b.createdAt) - new Date(a.createdAt);
@@ -103,14 +169,40 @@ const Home = () => {
     }
   });
 
-  // Pagination
-  const totalPages = Math.ceil(sortedPosts.length / POSTS_PER_PAGE);
-  const startIndex = (currentPage - 1) * POSTS_PER_PAGE;
-  const paginatedPosts = sortedPosts.slice(startIndex, startIndex + POSTS_PER_PAGE);
+  // Search hits stay in relevance order
+  const isSearching = searchResults !== null;
+  const visiblePosts = isSearching ? searchResults.hits : sortedPosts;
+  const hasMore = isSearching ? searchResults.hits.length < searchResults.total : Boolean(nextCursor);
+
+  // Load like counts and liked/saved flags for posts not fetched yet, up to 100 posts per request
+  const missingPostIds = [...new Set([...posts, ...(searchResults?.hits || [])]
+    .filter(post => !interactions[post.id])
+    .map(post => post.id))]
+    .join(',');
+  useEffect(() => {
+    if (!missingPostIds) return;
+    const fetchInteractions = async () => {
+      try {
+        const ids = missingPostIds.split(',');
+        const byPostId = {};
+        for (let i = 0; i < ids.length; i += 100) {
+          const response = await api.get(`/post-likes/batch?postIds=${ids.slice(i, i + 100).join(',')}`);
+          (response.data || []).forEach(item => {
+            byPostId[item.postId] = item;
+          });
+        }
+        setInteractions(prev => ({ ...prev, ...byPostId }));
+      } catch (error) {
+        console.error('Error fetching post interactions:', error);
+      }
+    };
+    fetchInteractions();
+  }, [missingPostIds]);
 
+  // Liked/saved flags belong to the signed-in user
   useEffect(() => {
-    setCurrentPage(1); // Reset to first page when filters change
-  }, [selectedCategory, searchQuery, sortBy]);
+    setInteractions({});
+  }, [user]);
 
   if (loading) {
     return (
@@ -219,10 +311,12 @@ const Home = () => {
         <section className="posts-section">
           <div className="posts-header">
             <h2 className="section-title">
-              {selectedCategory
+              {isSearching
+                ? 'Search Results'
+                : selectedCategory
                 ? `${categories.find(c => c.id === selectedCategory)?.name || ''} Posts`
                 : 'All Posts'}
-              {searchQuery && ` (${sortedPosts.length} found)`}
+              {isSearching && ` (${searchResults.total} found)`}
             </h2>
             {user && !isAdmin() && (
               <button 
@@ -236,12 +330,12 @@ const Home = () => {
             )}
           </div>
 
-          {paginatedPosts.length === 0 ? (
+          {visiblePosts.length === 0 ? (
             <div className="no-posts">
               <div className="no-posts-content">
                 <p className="no-posts-text">
-                  {searchQuery
-                    ? `No posts found matching "${searchQuery}"`
+                  {trimmedQuery
+                    ? searching ? 'Searching...' : `No posts found matching "${trimmedQuery}"`
                     : selectedCategory
                     ? `No posts found in this category. Be the first to create one!`
                     : 'No posts yet. Be the first to create one!'}
@@ -256,30 +350,24 @@ const Home = () => {
           ) : (
             <>
               <div className="posts-grid">
-                {paginatedPosts.map(post => (
-                  <PostCard key={post.id} post={post} onDelete={handleDeleteClick} />
+                {visiblePosts.map(post => (
+                  <PostCard
+                    key={post.id}
+                    post={post}
+                    onDelete={handleDeleteClick}
+                    interaction={interactions[post.id] || null}
+                  />
                 ))}
               </div>
 
-              {/* Pagination */}
-              {totalPages > 1 && (
+              {hasMore && (
                 <div className="pagination">
                   <button
-                    onClick={() => setCurrentPage(prev => Math.max(1, prev - 1))}
-                    disabled={currentPage === 1}
-                    className="btn btn-secondary btn-sm"
-                  >
-                    Previous
-                  </button>
-                  <span className="pagination-info">
-                    Page {currentPage} of {totalPages}
-                  </span>
-                  <button
-                    onClick={() => setCurrentPage(prev => Math.min(totalPages, prev + 1))}
-                    disabled={currentPage === totalPages}
+                    onClick={isSearching ? loadMoreResults : loadMorePosts}
+                    disabled={loadingMore}
                     className="btn btn-secondary btn-sm"
                   >
-                    Next
+                    {loadingMore ? 'Loading...' : isSearching ? 'More results' : 'Load more posts'}
                   </button>
                 </div>
               )}
@@ -21,6 +21,7 @@ const PostDetail = () => {
   const [replyingTo, setReplyingTo] = useState(null);
   const [replyContent, setReplyContent] = useState('');
   const [replies, setReplies] = useState({});
+  const [commentsCursor, setCommentsCursor] = useState(null);
   const { user, isAdmin } = useContext(AuthContext);
   const { isUserBlocked } = useContext(UIStateContext);
   const navigate = useNavigate();
@@ -37,14 +38,6 @@ const PostDetail = () => {
     }
   }, [id, user]);
 
-  useEffect(() => {
-    if (comments.length > 0) {
-      comments.forEach(comment => {
-        fetchReplies(comment.id);
-      });
-    }
-  }, [comments]);
-
   const fetchPost = async () => {
     try {
       const response = await api.get(`/posts/${id}`);
@@ -56,10 +49,15 @@ const PostDetail = () => {
     }
   };
 
-  const fetchComments = async () => {
+  // Loads comment threads (comments with their replies) a page at a time
+  const fetchComments = async (cursor = null) => {
     try {
-      const response = await api.get(`/comments/post/${id}`);
-      setComments(response.data);
+      const response = await api.get(`/comments/post/${id}/tree`, { params: cursor ? { cursor } : {} });
+      const page = response.data.comments;
+      const pageReplies = Object.fromEntries(page.map(comment => [comment.id, comment.replies || []]));
+      setComments(prev => (cursor ? [...prev, ...page] : page));
+      setReplies(prev => (cursor ? { ...prev, ...pageReplies } : pageReplies));
+      setCommentsCursor(response.data.nextCursor);
     } catch (error) {
       console.error('Error fetching comments:', error);
     }
@@ -97,7 +95,9 @@ const PostDetail = () => {
 
     try {
       setLoadingLike(true);
-      const response = await api.post(`/post-likes/${id}/toggle`);
+      const response = isLiked
+        ? await api.delete(`/post-likes/${id}`)
+        : await api.put(`/post-likes/${id}`);
       setIsLiked(response.data.liked);
       setLikeCount(response.data.likeCount);
     } catch (error) {
@@ -113,7 +113,9 @@ const PostDetail = () => {
 
     try {
       setLoadingSave(true);
-      const response = await api.post(`/saved-posts/${id}/toggle`);
+      const response = isSaved
+        ? await api.delete(`/saved-posts/${id}`)
+        : await api.put(`/saved-posts/${id}`);
       setIsSaved(response.data.saved);
     } catch (error) {
       console.error('Error toggling save:', error);
@@ -373,6 +375,11 @@ const PostDetail = () => {
               );
             })
           )}
+          {commentsCursor && (
+            <button className="btn btn-secondary" onClick={() => fetchComments(commentsCursor)}>
+              Load more comments
+            </button>
+          )}
         </div>
       </div>
 
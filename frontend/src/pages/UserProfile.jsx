@@ -12,7 +12,8 @@ const UserProfile = () => {
   const { user, isAdmin } = useContext(AuthContext);
   const { isUserBlocked } = useContext(UIStateContext);
   const [userPosts, setUserPosts] = useState([]);
-  const [totalComments, setTotalComments] = useState(0);
+  const [profile, setProfile] = useState(null);
+  const [postsCursor, setPostsCursor] = useState(null);
   const [loading, setLoading] = useState(true);
   const [deleteModal, setDeleteModal] = useState({ isOpen: false, postId: null });
   const navigate = useNavigate();
@@ -28,27 +29,10 @@ const UserProfile = () => {
   const fetchUserData = async () => {
     try {
       setLoading(true);
-      const [postsResponse] = await Promise.all([
-        api.get('/posts')
-      ]);
-      
-      // Filter posts by current user
-      const posts = (postsResponse.data || []).filter(post => post.authorId === user.id);
-      setUserPosts(posts);
-
-      // Calculate total comments by fetching comments for each user post
-      let commentCount = 0;
-      for (const post of posts) {
-        try {
-          const commentsResponse = await api.get(`/comments/post/${post.id}`);
-          const comments = commentsResponse.data || [];
-          // Count comments made by this user
-          commentCount += comments.filter(c => c.authorId === user.id).length;
-        } catch (err) {
-          console.error(`Error fetching comments for post ${post.id}:`, err);
-        }
-      }
-      setTotalComments(commentCount);
+      const response = await api.get('/users/me/profile');
+      setProfile(response.data);
+      setUserPosts(response.data.posts || []);
+      setPostsCursor(response.data.nextCursor);
       
       setLoading(false);
     } catch (error) {
@@ -57,6 +41,16 @@ const UserProfile = () => {
     }
   };
 
+  const loadMorePosts = async () => {
+    try {
+      const response = await api.get('/users/me/profile', { params: { cursor: postsCursor } });
+      setUserPosts(prev => [...prev, ...(response.data.posts || [])]);
+      setPostsCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error('Error fetching more posts:', error);
+    }
+  };
+
   const handleDeleteClick = (postId) => {
     setDeleteModal({ isOpen: true, postId });
   };
@@ -67,6 +61,7 @@ const UserProfile = () => {
     try {
       await api.delete(`/posts/${deleteModal.postId}`);
       setUserPosts(userPosts.filter(post => post.id !== deleteModal.postId));
+      setProfile(prev => prev && { ...prev, postCount: prev.postCount - 1 });
       setDeleteModal({ isOpen: false, postId: null });
       toast.success('Post deleted successfully');
     } catch (error) {
@@ -96,7 +91,7 @@ const UserProfile = () => {
     );
   }
 
-  const totalPosts = userPosts.length;
+  const totalPosts = profile?.postCount ?? userPosts.length;
   const joinedDate = new Date().toLocaleDateString('en-US', { year: 'numeric', month: 'long' });
 
   return (
@@ -134,13 +129,13 @@ const UserProfile = () => {
             </div>
             <div className="stat-card">
               <div className="stat-icon">💬</div>
-              <div className="stat-value">{totalComments}</div>
+              <div className="stat-value">{profile?.commentsWritten ?? 0}</div>
               <div className="stat-label">Total Comments</div>
             </div>
             <div className="stat-card">
-              <div className="stat-icon">📅</div>
-              <div className="stat-value">-</div>
-              <div className="stat-label">Joined Date</div>
+              <div className="stat-icon">❤️</div>
+              <div className="stat-value">{profile?.likesReceived ?? 0}</div>
+              <div className="stat-label">Total Likes</div>
             </div>
           </div>
         </section>
@@ -200,6 +195,11 @@ const UserProfile = () => {
               ))}
             </div>
           )}
+          {postsCursor && (
+            <button className="btn btn-secondary" onClick={loadMorePosts}>
+              Load more posts
+            </button>
+          )}
         </section>
       </div>
 